@@ -0,0 +1,55 @@
+#!/bin/bash
+
+# Startup-time comparison for the Docker images
+# Builds the plain boot jar image (--target standard) and the default AOT + AppCDS image, starts
+# each one several times with an empty data volume, and reports the time from `docker run` to the
+# first successful GET /actuator/health/readiness. The startup warm-up is disabled so only JVM and
+# Spring context startup is measured.
+#
+# Usage:
+#   ./measure_startup.sh [RUNS]
+#
+# Examples:
+#   ./measure_startup.sh        # 5 runs per image
+#   ./measure_startup.sh 10
+
+RUNS="${1:-5}"
+PORT=18080
+TIMEOUT_SECONDS=180
+
+set -e
+docker build --quiet --target standard -t finance-management-api:standard . > /dev/null
+docker build --quiet -t finance-management-api:aot-cds . > /dev/null
+set +e
+
+# Prints the milliseconds from container start to readiness, or fails after TIMEOUT_SECONDS
+time_to_ready() {
+    local image="$1"
+    local start end container
+    start=$(date +%s%N)
+    container=$(docker run -d --rm -p "${PORT}:8080" -e WARMUP_ENABLED=false "$image")
+    until curl -sf -o /dev/null "http://localhost:${PORT}/actuator/health/readiness"; do
+        if (( ($(date +%s%N) - start) / 1000000000 > TIMEOUT_SECONDS )); then
+            docker stop "$container" > /dev/null
+            return 1
+        fi
+        sleep 0.05
+    done
+    end=$(date +%s%N)
+    docker stop "$container" > /dev/null
+    echo $(( (end - start) / 1000000 ))
+}
+
+for image in standard aot-cds; do
+    times=()
+    for run in $(seq 1 "$RUNS"); do
+        if ! ms=$(time_to_ready "finance-management-api:${image}"); then
+            echo "${image}: not ready within ${TIMEOUT_SECONDS}s" >&2
+            exit 1
+        fi
+        times+=("$ms")
+        echo "${image} run ${run}: ${ms} ms"
+    done
+    median=$(printf '%s\n' "${times[@]}" | sort -n | awk '{ a[NR] = $1 } END { print a[int((NR + 1) / 2)] }')
+    echo "${image} median: ${median} ms"
+done
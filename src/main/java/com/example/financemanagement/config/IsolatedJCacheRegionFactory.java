@@ -0,0 +1,40 @@
+package com.example.financemanagement.config;
+
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.ehcache.xml.XmlConfiguration;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.net.URL;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Hibernate's JCache region factory backed by Ehcache, with regions, their sizes and expiry
+ * declared in {@code ehcache.xml}.
+ *
+ * <p>JCache hands out one shared cache manager per configuration URI, and Hibernate closes the
+ * manager when its session factory shuts down. Each session factory therefore gets its own
+ * manager under a unique URI, so several application contexts in one JVM (as in the test suite)
+ * neither share cached rows nor close each other's caches.
+ */
+public class IsolatedJCacheRegionFactory extends JCacheRegionFactory {
+
+    static final String CONFIGURATION = "/ehcache.xml";
+
+    @Override
+    protected CacheManager resolveCacheManager(SessionFactoryOptions settings, Map<String, Object> properties) {
+        URL configuration = IsolatedJCacheRegionFactory.class.getResource(CONFIGURATION);
+        if (configuration == null) {
+            throw new CacheException("Second-level cache configuration " + CONFIGURATION + " not found");
+        }
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(
+                EhcacheCachingProvider.class.getName());
+        return provider.getCacheManager(URI.create("urn:finance-management:hibernate:" + UUID.randomUUID()),
+                new XmlConfiguration(configuration));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.financemanagement.config;
+
+import com.example.financemanagement.service.WarmupTraffic;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationPredicate;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+import java.util.function.Predicate;
+
+/**
+ * Request- and service-level instrumentation. Kept out of the web slice so {@code @WebMvcTest}s
+ * do not need a meter registry.
+ */
+@Configuration
+public class ObservabilityConfig {
+
+    /**
+     * Times every public method of the {@code @Timed} services as {@code service.operation},
+     * tagged with class and method. Percentiles and histogram buckets are configured under
+     * {@code management.metrics.distribution}. Calls made while serving warm-up traffic are not
+     * timed.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        Predicate<ProceedingJoinPoint> skipWarmup = joinPoint -> WarmupTraffic.isCurrentRequest();
+        return new TimedAspect(meterRegistry, skipWarmup);
+    }
+
+    /**
+     * Drops the observations of warm-up requests, so they neither reach
+     * {@code http.server.requests} nor start a trace. The server observation starts before the
+     * request is bound to the thread, so its carrier is checked directly.
+     */
+    @Bean
+    public ObservationPredicate warmupObservationPredicate() {
+        return (name, context) -> !(context instanceof ServerRequestObservationContext server
+                && WarmupTraffic.isWarmup(server.getCarrier()))
+                && !WarmupTraffic.isCurrentRequest();
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementBudgetFilter> sqlStatementBudgetFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.sqlBudget.perRequest:10}") int budget) {
+        FilterRegistrationBean<SqlStatementBudgetFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatementBudgetFilter(meterRegistry, budget));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
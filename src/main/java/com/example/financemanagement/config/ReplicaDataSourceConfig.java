@@ -0,0 +1,85 @@
+package com.example.financemanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Splits reads from writes when a replica is configured ({@code app.datasource.replica.url}).
+ *
+ * <p>The primary pool is built from the regular {@code spring.datasource.*} properties, the
+ * replica pool from {@code app.datasource.replica.*}. The application's data source routes each
+ * transaction to one of them (see {@link ReplicaRoutingDataSource}). Without a replica URL the
+ * primary pool is used directly and no replica pool is created.
+ *
+ * <p>The replica URL is checked when the data source is created rather than used as a bean
+ * condition, so it can still be set at runtime in an AOT-processed build. For the same reason
+ * the replica pool is not a bean of its own: its lifecycle is tied to this configuration.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReplicaDataSourceConfig {
+
+    private HikariDataSource replicaDataSource;
+
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * The data source JPA, JDBC and Flyway use: the primary pool, or with a replica URL the
+     * router. The lazy proxy around the router defers fetching a physical connection until the
+     * first statement, by which point the transaction's read-only flag is set and the router can
+     * pick a pool.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 ObjectProvider<MeterRegistry> meterRegistry,
+                                 @Value("${app.datasource.replica.url:}") String url,
+                                 @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                 @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password,
+                                 @Value("${app.datasource.replica.maximumPoolSize:10}") int maximumPoolSize,
+                                 @Value("${app.datasource.replica.readYourWritesWindow:5s}") Duration readYourWritesWindow) {
+        if (url.isBlank()) {
+            return primary;
+        }
+        HikariDataSource replica = DataSourceBuilder.create().type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        replica.setPoolName("replica");
+        replica.setMaximumPoolSize(maximumPoolSize);
+        replica.setReadOnly(true);
+        meterRegistry.ifAvailable(registry -> replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        replicaDataSource = replica;
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, readYourWritesWindow));
+    }
+
+    @PreDestroy
+    void closeReplica() {
+        if (replicaDataSource != null) {
+            replicaDataSource.close();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.financemanagement.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Routes connections of {@code @Transactional(readOnly = true)} methods to the replica pool
+ * and everything else to the primary.
+ *
+ * <p>Replicas lag behind the primary, so a user who just wrote could read stale data right
+ * after. To avoid that, a read-write transaction that commits for an authenticated user opens
+ * a read-your-writes window: that user's read-only transactions go to the primary until the
+ * window ({@code app.datasource.replica.readYourWritesWindow}) has passed.
+ *
+ * <p>The routing key is only known once the transaction is set up, so this data source must be
+ * wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}; see
+ * {@link ReplicaDataSourceConfig}.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final long readYourWritesNanos;
+    private final LongSupplier clock;
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWritesWindow) {
+        this(primary, replica, readYourWritesWindow, System::nanoTime);
+    }
+
+    ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWritesWindow, LongSupplier clock) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.readYourWritesNanos = readYourWritesWindow.toNanos();
+        this.clock = clock;
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUsername();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackWrite(user);
+            return Target.PRIMARY;
+        }
+        return withinReadYourWritesWindow(user) ? Target.PRIMARY : Target.REPLICA;
+    }
+
+    /**
+     * Opens the read-your-writes window for the user once the current read-write transaction
+     * commits. Connections taken outside a transaction (e.g. plain JDBC at startup) have
+     * nothing to commit and are not tracked.
+     */
+    private void trackWrite(String user) {
+        if (user == null || readYourWritesNanos <= 0 || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recordWrite(user);
+            }
+        });
+    }
+
+    void recordWrite(String user) {
+        long now = clock.getAsLong();
+        lastWriteByUser.put(user, now);
+        if (lastWriteByUser.size() > PURGE_THRESHOLD) {
+            lastWriteByUser.values().removeIf(writtenAt -> now - writtenAt >= readYourWritesNanos);
+        }
+    }
+
+    boolean withinReadYourWritesWindow(String user) {
+        if (user == null) {
+            return false;
+        }
+        Long writtenAt = lastWriteByUser.get(user);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (clock.getAsLong() - writtenAt < readYourWritesNanos) {
+            return true;
+        }
+        lastWriteByUser.remove(user, writtenAt);
+        return false;
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.financemanagement.config;
+
+import com.example.financemanagement.service.WarmupTraffic;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements each HTTP request issues, to surface N+1 query patterns.
+ *
+ * <p>Every request apart from the warm-up's is recorded in the {@code http.server.requests.sql.statements} distribution
+ * summary, tagged with the method and the matched URI pattern. Requests above
+ * {@code app.sqlBudget.perRequest} statements are logged as warnings. Registered first in the
+ * filter chain by {@link ObservabilityConfig} so statements issued during authentication are
+ * included.
+ *
+ * @see SqlStatementCounter
+ */
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementBudgetFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int budget;
+
+    /**
+     * Constructs a new SqlStatementBudgetFilter.
+     *
+     * @param meterRegistry the registry the per-request statement counts are published to
+     * @param budget the number of statements a request may issue before it is logged
+     */
+    public SqlStatementBudgetFilter(MeterRegistry meterRegistry, int budget) {
+        this.meterRegistry = meterRegistry;
+        this.budget = budget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                if (!WarmupTraffic.isWarmup(request)) {
+                    record(request, scope.count());
+                }
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, int statements) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("SQL statements issued per HTTP request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statements);
+        if (statements > budget) {
+            logger.warn("{} {} issued {} SQL statements, over the budget of {}",
+                    request.getMethod(), uri, statements, budget);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.financemanagement.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hibernate {@link StatementInspector} that counts the SQL statements issued on the current
+ * thread while a {@link Scope} is open. It is registered through
+ * {@code hibernate.session_factory.statement_inspector} and leaves the SQL untouched.
+ *
+ * <p>Scopes nest: a statement counts towards every open scope on the thread, so a test can
+ * measure a single request while {@link SqlStatementBudgetFilter} measures it too. Only
+ * statements prepared by Hibernate are counted; plain JDBC (e.g. {@code JdbcTemplate}) is not.
+ * A scope opened with {@link #record()} also keeps the SQL, so tests can inspect what Hibernate
+ * actually generated.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.count++;
+            if (scope.statements != null) {
+                scope.statements.add(sql);
+            }
+        }
+        return sql;
+    }
+
+    /**
+     * Starts counting statements on the current thread until the returned scope is closed.
+     *
+     * @return the new innermost scope
+     */
+    public static Scope open() {
+        return push(new Scope(CURRENT.get(), null));
+    }
+
+    /**
+     * Like {@link #open()}, but the scope also keeps the statements it counts.
+     *
+     * @return the new innermost scope
+     */
+    public static Scope record() {
+        return push(new Scope(CURRENT.get(), new ArrayList<>()));
+    }
+
+    private static Scope push(Scope scope) {
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * A counting window on one thread. Must be closed on the thread that opened it.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private final List<String> statements;
+        private int count;
+
+        private Scope(Scope parent, List<String> statements) {
+            this.parent = parent;
+            this.statements = statements;
+        }
+
+        /**
+         * @return the number of statements issued since this scope was opened
+         */
+        public int count() {
+            return count;
+        }
+
+        /**
+         * @return the SQL issued since this scope was opened, in order; empty unless the scope
+         *         was opened with {@link #record()}
+         */
+        public List<String> statements() {
+            return statements != null ? List.copyOf(statements) : List.of();
+        }
+
+        @Override
+        public void close() {
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.financemanagement.controller;
+
+import com.example.financemanagement.dto.BulkUserRegistrationRequest;
+import com.example.financemanagement.dto.BulkUserRegistrationResponse;
+import com.example.financemanagement.service.UserProvisioningService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Set;
+
+/**
+ * Controller for administrative operations. All endpoints require the ADMIN role.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    @Autowired
+    private UserProvisioningService userProvisioningService;
+
+    /**
+     * Provisions many user accounts in a single request.
+     * @param request The users to create, and which of them become admins.
+     * @return The number of users created and the usernames that were skipped.
+     */
+    @PostMapping("/users/bulk")
+    public ResponseEntity<BulkUserRegistrationResponse> bulkRegister(@Valid @RequestBody BulkUserRegistrationRequest request) {
+        BulkUserRegistrationResponse response = userProvisioningService.registerUsers(request.getUsers(),
+                request.getAdmins() != null ? request.getAdmins() : Set.of());
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+}
@@ -4,7 +4,10 @@ import com.example.financemanagement.dto.LoginRequest;
 import com.example.financemanagement.dto.UserRegistrationRequest;
 import com.example.financemanagement.entity.User;
 import com.example.financemanagement.exception.ResourceConflictException;
+import com.example.financemanagement.exception.TooManyRequestsException;
+import com.example.financemanagement.service.LoginThrottleService;
 import com.example.financemanagement.service.UserService;
+import com.example.financemanagement.service.UsernameAvailabilityService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
@@ -20,9 +23,11 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.logout.SecurityContextLogoutHandler;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Map;
@@ -35,9 +40,10 @@ import java.util.HashMap;
  * 
  * <p>Supported operations:
  * <ul>
- *   <li>User registration with validation and automatic default category creation</li>
+ *   <li>User registration with validation and access to the shared default categories</li>
  *   <li>User login with session establishment</li>
  *   <li>User logout with session invalidation</li>
+ *   <li>Username availability probes for sign-up forms</li>
  * </ul>
  * 
  * <p>All endpoints return appropriate HTTP status codes and standardized JSON responses.
@@ -57,12 +63,18 @@ public class AuthController {
     @Autowired
     private AuthenticationManager authenticationManager;
 
+    @Autowired
+    private LoginThrottleService loginThrottleService;
+
+    @Autowired
+    private UsernameAvailabilityService usernameAvailabilityService;
+
     /**
      * Registers a new user account in the system.
      * 
      * <p>This endpoint creates a new user account with the provided credentials and
-     * personal information. Upon successful registration, default income and expense
-     * categories are automatically created for the user.
+     * personal information. The shared default income and expense categories are
+     * immediately visible to the new user without being copied.
      * 
      * <p>The password is securely hashed using BCrypt before storage, and the username
      * (email) is validated for uniqueness.
@@ -86,6 +98,24 @@ public class AuthController {
         }
     }
 
+    /**
+     * Reports whether a username can still be registered.
+     *
+     * <p>Served from an in-memory Bloom filter over all usernames; the database is only
+     * consulted when the filter reports a possible match, so probing from a sign-up form
+     * never costs a password hash or, for new names, a query.
+     *
+     * @param username the username (email) to check
+     * @return 200 OK with the username and an {@code available} flag
+     */
+    @GetMapping("/username-available")
+    public ResponseEntity<Map<String, Object>> usernameAvailable(@RequestParam String username) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("username", username);
+        response.put("available", usernameAvailabilityService.isAvailable(username));
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Authenticates a user with the provided credentials and establishes an HTTP session.
      *
@@ -93,18 +123,24 @@ public class AuthController {
      * On successful authentication, a session is created (or reused) and the standard <code>JSESSIONID</code>
      * cookie is returned to the client so that subsequent requests are authenticated.</p>
      *
+     * <p>Attempts are rate limited per username and per client address, and the password check
+     * runs on a dedicated bounded executor, so credential-stuffing bursts are answered with
+     * 429 Too Many Requests instead of consuming CPU needed by the rest of the API.</p>
+     *
      * @param loginRequest the login credentials
      * @param request      the HTTP request (needed for session handling)
      * @return 200 OK with a JSON success message, or 401 when the credentials are invalid
+     * @throws TooManyRequestsException if the caller is throttled (429 Too Many Requests)
      */
     @PostMapping("/login")
     public ResponseEntity<Map<String, String>> login(@Valid @RequestBody LoginRequest loginRequest,
                                                     HttpServletRequest request) {
+        loginThrottleService.checkAttempt(loginRequest.getUsername(), request.getRemoteAddr());
         try {
             UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                     loginRequest.getUsername(), loginRequest.getPassword());
 
-            Authentication authentication = authenticationManager.authenticate(authToken);
+            Authentication authentication = loginThrottleService.authenticate(authenticationManager, authToken);
 
             // Store authentication in the security context
             SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
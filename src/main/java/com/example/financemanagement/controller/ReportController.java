@@ -1,16 +1,21 @@
 package com.example.financemanagement.controller;
 
+import com.example.financemanagement.dto.CategoryRollupReport;
 import com.example.financemanagement.dto.MonthlyReport;
 import com.example.financemanagement.dto.YearlyReport;
 import com.example.financemanagement.exception.BadRequestException;
 import com.example.financemanagement.service.ReportService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+
 /**
  * Controller for generating financial reports.
  */
@@ -49,4 +54,20 @@ public class ReportController {
         YearlyReport report = reportService.generateYearlyReport(year);
         return ResponseEntity.ok(report);
     }
+
+    /**
+     * Gets category totals for a date range, rolled up the category hierarchy.
+     * @param startDate The first day of the range.
+     * @param endDate The last day of the range.
+     * @param depth The deepest category level to list; all levels if omitted.
+     * @return A response entity containing the report data.
+     */
+    @GetMapping("/categories")
+    public ResponseEntity<CategoryRollupReport> getCategoryRollup(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Integer depth) {
+        CategoryRollupReport report = reportService.generateCategoryRollup(startDate, endDate, depth);
+        return ResponseEntity.ok(report);
+    }
 } 
\ No newline at end of file
@@ -1,9 +1,11 @@
 package com.example.financemanagement.controller;
 
+import com.example.financemanagement.dto.MergePatch;
 import com.example.financemanagement.dto.SavingsGoalRequest;
 import com.example.financemanagement.dto.SavingsGoalResponse;
 import com.example.financemanagement.dto.SavingsGoalUpdateRequest;
 import com.example.financemanagement.service.SavingsGoalService;
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -66,6 +68,18 @@ public class SavingsGoalController {
         return ResponseEntity.ok(updatedGoal);
     }
 
+    /**
+     * Partially updates a savings goal with a JSON Merge Patch.
+     * @param id The ID of the savings goal to patch.
+     * @param patch The merge patch document; only the members present are changed.
+     * @return The patched savings goal.
+     */
+    @PatchMapping(value = "/{id}", consumes = MergePatch.MEDIA_TYPE)
+    public ResponseEntity<SavingsGoalResponse> patchGoal(@PathVariable Long id, @RequestBody JsonNode patch) {
+        SavingsGoalResponse patchedGoal = savingsGoalService.patchSavingsGoal(id, new MergePatch(patch));
+        return ResponseEntity.ok(patchedGoal);
+    }
+
     /**
      * Deletes a savings goal by its ID.
      * @param id The ID of the savings goal to delete.
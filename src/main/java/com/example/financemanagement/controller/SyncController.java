@@ -0,0 +1,31 @@
+package com.example.financemanagement.controller;
+
+import com.example.financemanagement.dto.SyncResponse;
+import com.example.financemanagement.service.SyncService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for the incremental change feed used by clients to synchronize.
+ */
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    @Autowired
+    private SyncService syncService;
+
+    /**
+     * Returns the transactions, categories and goals changed or deleted since a token.
+     * @param since The token from the previous sync; omit it for a full sync.
+     * @return The changes and the token for the next sync.
+     */
+    @GetMapping
+    public ResponseEntity<SyncResponse> sync(@RequestParam(required = false) String since) {
+        return ResponseEntity.ok(syncService.sync(since));
+    }
+}
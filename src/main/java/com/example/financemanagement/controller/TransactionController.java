@@ -1,8 +1,10 @@
 package com.example.financemanagement.controller;
 
+import com.example.financemanagement.dto.MergePatch;
 import com.example.financemanagement.dto.TransactionRequest;
 import com.example.financemanagement.dto.TransactionResponse;
 import com.example.financemanagement.service.TransactionService;
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -25,29 +27,48 @@ public class TransactionController {
     private TransactionService transactionService;
 
     /**
-     * Creates a new transaction.
+     * Creates a new transaction. Retries carrying the same {@code Idempotency-Key} receive the
+     * transaction created by the first request instead of a duplicate.
      * @param request The transaction data from the request body.
+     * @param idempotencyKey Optional client-chosen key identifying this creation.
      * @return The created transaction.
      */
     @PostMapping
-    public ResponseEntity<TransactionResponse> createTransaction(@Valid @RequestBody TransactionRequest request) {
-        TransactionResponse createdTransaction = transactionService.createTransaction(request);
+    public ResponseEntity<TransactionResponse> createTransaction(
+            @Valid @RequestBody TransactionRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        TransactionResponse createdTransaction = transactionService.createTransaction(request, idempotencyKey);
         return new ResponseEntity<>(createdTransaction, HttpStatus.CREATED);
     }
 
     /**
-     * Retrieves a list of transactions, optionally filtered by date and category.
+     * Retrieves a list of transactions, optionally filtered by date, category, a filter expression and tags.
      * @param startDate The start date for the filter.
      * @param endDate The end date for the filter.
      * @param category The name of the category to filter by.
+     * @param filter A filter expression, e.g. {@code amount>100 AND type:EXPENSE}.
+     * @param tags A tag expression, e.g. {@code vacation-2024 AND NOT reimbursable}.
      * @return A list of transactions.
      */
     @GetMapping
     public ResponseEntity<Map<String, List<TransactionResponse>>> getTransactions(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @RequestParam(required = false) String category) {
-        List<TransactionResponse> transactions = transactionService.getTransactions(startDate, endDate, category);
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String filter,
+            @RequestParam(required = false) String tags) {
+        List<TransactionResponse> transactions = transactionService.getTransactions(startDate, endDate, category, filter, tags);
+        return ResponseEntity.ok(Map.of("transactions", transactions));
+    }
+
+    /**
+     * Searches transactions by description and category name, matching word prefixes.
+     * @param q The search text.
+     * @return The matching transactions, newest first.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Map<String, List<TransactionResponse>>> searchTransactions(@RequestParam String q) {
+        List<TransactionResponse> transactions = transactionService.searchTransactions(q);
         return ResponseEntity.ok(Map.of("transactions", transactions));
     }
 
@@ -74,6 +95,18 @@ public class TransactionController {
         return ResponseEntity.ok(updatedTransaction);
     }
 
+    /**
+     * Partially updates a transaction with a JSON Merge Patch.
+     * @param id The ID of the transaction to patch.
+     * @param patch The merge patch document; only the members present are changed.
+     * @return The patched transaction.
+     */
+    @PatchMapping(value = "/{id}", consumes = MergePatch.MEDIA_TYPE)
+    public ResponseEntity<TransactionResponse> patchTransaction(@PathVariable Long id, @RequestBody JsonNode patch) {
+        TransactionResponse patchedTransaction = transactionService.patchTransaction(id, new MergePatch(patch));
+        return ResponseEntity.ok(patchedTransaction);
+    }
+
     /**
      * Deletes a transaction by its ID.
      * @param id The ID of the transaction to delete.
@@ -0,0 +1,27 @@
+package com.example.financemanagement.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event covering a write of one or more rows to a table, such as a
+ * transaction update or a JDBC batch of provisioned users.
+ */
+@Name("com.example.financemanagement.BatchWrite")
+@Label("Batch Write")
+@Category({"Finance Management", "Persistence"})
+@Description("Writes a batch of rows to one table")
+public class BatchWriteEvent extends jdk.jfr.Event {
+
+    @Label("Table")
+    public String table;
+
+    @Label("Operation")
+    @Description("insert, update or delete")
+    public String operation;
+
+    @Label("Rows")
+    public int rows;
+}
@@ -0,0 +1,156 @@
+package com.example.financemanagement.diagnostics;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint for on-demand Java Flight Recorder recordings, restricted to admins.
+ *
+ * <ul>
+ *   <li>{@code POST /actuator/flightrecording} starts a recording with the JDK's low-overhead
+ *       {@code default} settings, optionally with a {@code duration}; it stops by itself after
+ *       the duration, which is capped at {@code app.flightRecording.maxDuration}</li>
+ *   <li>{@code DELETE /actuator/flightrecording} stops it early</li>
+ *   <li>{@code GET /actuator/flightrecording} downloads what has been recorded so far as a
+ *       {@code .jfr} file, for JDK Mission Control or {@code jfr print}</li>
+ * </ul>
+ *
+ * <p>Besides the JVM's own events the recording contains the application's events, such as
+ * {@link ReportGenerationEvent} and {@link GoalProgressEvent}. Only one recording exists at a
+ * time, and its on-disk size is capped at {@code app.flightRecording.maxSize}.
+ */
+@Component
+@WebEndpoint(id = "flightrecording")
+public class FlightRecordingEndpoint {
+
+    private static final String RECORDING_NAME = "finance-management";
+
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+    private final Path dumpFile;
+    private Recording recording;
+
+    /**
+     * Constructs a new FlightRecordingEndpoint.
+     *
+     * @param maxDuration the longest a recording may run before it stops itself
+     * @param maxSize the most recorded data kept on disk; older data is discarded first
+     * @throws IOException if the directory for dumps cannot be created
+     */
+    public FlightRecordingEndpoint(@Value("${app.flightRecording.maxDuration:10m}") Duration maxDuration,
+                                   @Value("${app.flightRecording.maxSize:100MB}") DataSize maxSize) throws IOException {
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+        this.dumpFile = Files.createTempDirectory("flight-recording").resolve(RECORDING_NAME + ".jfr");
+    }
+
+    /**
+     * Starts a new recording, discarding any previous one that has already stopped.
+     *
+     * @param duration how long to record; defaults to, and is capped at, the maximum duration
+     * @return the recording status, or 409 Conflict if a recording is already running
+     */
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Nullable Duration duration) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(status(), HttpStatus.CONFLICT.value());
+        }
+        if (recording != null) {
+            recording.close();
+        }
+        Recording next = new Recording(defaultConfiguration());
+        next.setName(RECORDING_NAME);
+        next.setToDisk(true);
+        next.setMaxSize(maxSize.toBytes());
+        next.setDuration(duration == null || duration.isNegative() || duration.isZero()
+                || duration.compareTo(maxDuration) > 0 ? maxDuration : duration);
+        next.start();
+        recording = next;
+        return new WebEndpointResponse<>(status());
+    }
+
+    /**
+     * Stops the running recording. Its data stays available for download until the next start.
+     *
+     * @return the recording status, or 404 Not Found if nothing was ever recorded
+     */
+    @DeleteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> stop() {
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        return new WebEndpointResponse<>(status());
+    }
+
+    /**
+     * Writes the data recorded so far to a file and returns it. A running recording keeps going.
+     *
+     * @return the {@code .jfr} file, or 404 Not Found if nothing was ever recorded
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> dump() {
+        if (recording == null || recording.getState() == RecordingState.NEW) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        try {
+            recording.dump(dumpFile);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write flight recording to " + dumpFile, ex);
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(dumpFile));
+    }
+
+    @PreDestroy
+    synchronized void close() throws IOException {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        Files.deleteIfExists(dumpFile);
+        Files.deleteIfExists(dumpFile.getParent());
+    }
+
+    private Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("name", recording.getName());
+        status.put("state", recording.getState());
+        status.put("startTime", String.valueOf(recording.getStartTime()));
+        status.put("duration", String.valueOf(recording.getDuration()));
+        status.put("sizeBytes", recording.getSize());
+        return status;
+    }
+
+    private static Configuration defaultConfiguration() {
+        try {
+            return Configuration.getConfiguration("default");
+        } catch (IOException | ParseException ex) {
+            throw new IllegalStateException("The JDK's default flight recorder settings are unavailable", ex);
+        }
+    }
+}
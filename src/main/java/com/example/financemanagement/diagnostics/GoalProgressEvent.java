@@ -0,0 +1,26 @@
+package com.example.financemanagement.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event covering the progress computation for one or more savings goals.
+ */
+@Name("com.example.financemanagement.GoalProgress")
+@Label("Goal Progress")
+@Category({"Finance Management", "Savings Goals"})
+@Description("Computes the current progress of a user's savings goals")
+public class GoalProgressEvent extends jdk.jfr.Event {
+
+    @Label("User Id")
+    public long userId;
+
+    @Label("Goals")
+    public int goals;
+
+    @Label("Aggregated")
+    @Description("Whether all goals were served by a single aggregate query rather than per-goal sums")
+    public boolean aggregated;
+}
@@ -0,0 +1,105 @@
+package com.example.financemanagement.diagnostics;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Adds tracing spans for service and repository calls below the span of the HTTP request.
+ *
+ * <p>Each public {@code @Service} method and each repository method gets a child span named
+ * {@code <Class>.<method>}, tagged with its {@code layer} and, when the result is a collection,
+ * page, optional or update count, the number of {@code rows} it returned or changed. The span
+ * duration is the time the call took. Calls outside a sampled trace, such as startup work or
+ * unsampled requests, are not traced at all.
+ *
+ * @see SpanLogHandler
+ */
+@Aspect
+@Component
+public class LayerTracingAspect {
+
+    private final ObjectProvider<Tracer> tracerProvider;
+
+    /**
+     * Constructs a new LayerTracingAspect.
+     *
+     * @param tracerProvider the tracer, absent when tracing is disabled
+     */
+    public LayerTracingAspect(ObjectProvider<Tracer> tracerProvider) {
+        this.tracerProvider = tracerProvider;
+    }
+
+    @Around("execution(public * com.example.financemanagement.service..*(..))"
+            + " && @within(org.springframework.stereotype.Service)")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "service", joinPoint.getSignature().getDeclaringType().getSimpleName());
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "repository", repositoryName(joinPoint));
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, String layer, String type) throws Throwable {
+        Tracer tracer = tracerProvider.getIfAvailable();
+        Span parent = tracer != null ? tracer.currentSpan() : null;
+        if (parent == null || !Boolean.TRUE.equals(parent.context().sampled())) {
+            return joinPoint.proceed();
+        }
+
+        Span span = tracer.nextSpan()
+                .name(type + "." + joinPoint.getSignature().getName())
+                .tag("layer", layer)
+                .start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            Object result = joinPoint.proceed();
+            Integer rows = rows(result);
+            if (rows != null) {
+                span.tag("rows", rows);
+            }
+            return result;
+        } catch (Throwable ex) {
+            span.error(ex);
+            throw ex;
+        } finally {
+            span.end();
+        }
+    }
+
+    // Inherited methods such as save() are declared on Spring Data's interfaces, so name the span
+    // after the application's repository interface the proxy implements instead
+    private static String repositoryName(ProceedingJoinPoint joinPoint) {
+        for (Class<?> type : joinPoint.getThis().getClass().getInterfaces()) {
+            if (Repository.class.isAssignableFrom(type) && type.getPackageName().startsWith("com.example")) {
+                return type.getSimpleName();
+            }
+        }
+        return joinPoint.getSignature().getDeclaringType().getSimpleName();
+    }
+
+    private static Integer rows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Integer updated) {
+            return updated;
+        }
+        return null;
+    }
+}
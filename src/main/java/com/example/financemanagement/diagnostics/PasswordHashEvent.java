@@ -0,0 +1,26 @@
+package com.example.financemanagement.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event covering one login's password verification on the hashing executor.
+ * The event duration is the hashing itself; the time spent queued before it is recorded
+ * separately.
+ */
+@Name("com.example.financemanagement.PasswordHash")
+@Label("Login Password Hash")
+@Category({"Finance Management", "Authentication"})
+@Description("Verifies a login password on the password hashing executor")
+public class PasswordHashEvent extends jdk.jfr.Event {
+
+    @Label("Queue Wait")
+    @Timespan(Timespan.NANOSECONDS)
+    public long queueWait;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -0,0 +1,27 @@
+package com.example.financemanagement.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event covering one monthly or yearly report, from loading the user's
+ * transactions to the aggregated totals.
+ */
+@Name("com.example.financemanagement.ReportGeneration")
+@Label("Report Generation")
+@Category({"Finance Management", "Reports"})
+@Description("Builds a monthly or yearly report from the user's transactions")
+public class ReportGenerationEvent extends jdk.jfr.Event {
+
+    @Label("User Id")
+    public long userId;
+
+    @Label("Period")
+    @Description("monthly or yearly")
+    public String period;
+
+    @Label("Rows Aggregated")
+    public int rowsAggregated;
+}
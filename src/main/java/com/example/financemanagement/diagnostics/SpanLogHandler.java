@@ -0,0 +1,30 @@
+package com.example.financemanagement.diagnostics;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exports every finished, sampled span as one line of Zipkin v2 JSON to the
+ * {@code com.example.financemanagement.tracing.spans} logger, so traces can be read from the
+ * application log or routed to a file of their own without running a tracing backend.
+ *
+ * <p>Which requests are traced is controlled by {@code management.tracing.sampling.probability};
+ * setting the logger to {@code OFF} stops the export.
+ */
+@Component
+public class SpanLogHandler extends SpanHandler {
+
+    private static final Logger spans = LoggerFactory.getLogger("com.example.financemanagement.tracing.spans");
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause == Cause.FINISHED && spans.isInfoEnabled()) {
+            spans.info("{}", span);
+        }
+        return true;
+    }
+}
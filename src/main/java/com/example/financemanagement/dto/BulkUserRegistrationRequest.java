@@ -0,0 +1,35 @@
+package com.example.financemanagement.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Data Transfer Object for provisioning many user accounts in one admin request.
+ *
+ * <p>Each entry is validated with the same rules as a self-service registration. Usernames
+ * listed in {@code admins} are created with the ADMIN role; this is the only API that grants it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUserRegistrationRequest {
+
+    public static final int MAX_USERS = 10000;
+
+    @NotEmpty(message = "At least one user is required")
+    @Size(max = MAX_USERS, message = "At most " + MAX_USERS + " users can be provisioned per request")
+    private List<@Valid UserRegistrationRequest> users;
+
+    private Set<String> admins = Set.of();
+
+    public BulkUserRegistrationRequest(List<UserRegistrationRequest> users) {
+        this.users = users;
+    }
+}
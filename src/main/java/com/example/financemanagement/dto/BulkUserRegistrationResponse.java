@@ -0,0 +1,19 @@
+package com.example.financemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of a bulk provisioning request: how many accounts were created and which
+ * usernames were skipped because they already exist or were repeated in the request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUserRegistrationResponse {
+    private int created;
+    private List<String> skippedUsernames;
+}
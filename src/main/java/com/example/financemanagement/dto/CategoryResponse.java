@@ -12,4 +12,9 @@ public class CategoryResponse {
     private String name;
     private CategoryType type;
     private boolean custom;
+    private String parent;
+
+    public CategoryResponse(String name, CategoryType type, boolean custom) {
+        this(name, type, custom, null);
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.example.financemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Category totals for a date range, rolled up the category hierarchy. Each node's
+ * {@code total} includes all of its subcategories and {@code ownTotal} only the transactions
+ * booked on the category itself. Nodes are listed depth-first, each parent before its
+ * children, and only categories with transactions in the range, or below them, appear.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryRollupReport {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<Node> income;
+    private List<Node> expenses;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Node {
+        private String category;
+        private String parent;
+        private int depth;
+        private BigDecimal total;
+        private BigDecimal ownTotal;
+    }
+}
@@ -14,4 +14,11 @@ public class CreateCategoryRequest {
     private String name;
 
     private CategoryType type;
+
+    // Name of the category to nest under; the type defaults to the parent's
+    private String parent;
+
+    public CreateCategoryRequest(String name, CategoryType type) {
+        this(name, type, null);
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.example.financemanagement.dto;
+
+import com.example.financemanagement.exception.BadRequestException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A JSON Merge Patch document (RFC 7396) sent with {@code application/merge-patch+json}.
+ *
+ * <p>Unlike the PUT request DTOs, a merge patch tells "field absent" (leave unchanged)
+ * apart from "field set to null" (remove the value), so services can apply exactly the
+ * members the client sent and nothing else.
+ */
+public class MergePatch {
+
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    private final JsonNode document;
+
+    public MergePatch(JsonNode document) {
+        if (document == null || !document.isObject()) {
+            throw new BadRequestException("Merge patch must be a JSON object");
+        }
+        this.document = document;
+    }
+
+    /**
+     * Rejects members the target resource does not allow to be patched.
+     * @param allowed the patchable member names
+     * @throws BadRequestException naming the first unsupported member
+     */
+    public void requireOnly(Set<String> allowed) {
+        for (Iterator<String> names = document.fieldNames(); names.hasNext(); ) {
+            String name = names.next();
+            if (!allowed.contains(name)) {
+                throw new BadRequestException("Field cannot be patched: " + name);
+            }
+        }
+    }
+
+    public boolean has(String field) {
+        return document.has(field);
+    }
+
+    /**
+     * @return the text value, or {@code null} if the patch removes the field
+     */
+    public String text(String field) {
+        JsonNode node = document.get(field);
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        if (!node.isTextual()) {
+            throw new BadRequestException("Field must be a string: " + field);
+        }
+        return node.textValue();
+    }
+
+    /**
+     * @return the string array's values, or an empty list if the patch removes the field
+     */
+    public List<String> textList(String field) {
+        JsonNode node = document.get(field);
+        if (node == null || node.isNull()) {
+            return List.of();
+        }
+        if (!node.isArray()) {
+            throw new BadRequestException("Field must be an array of strings: " + field);
+        }
+        List<String> values = new ArrayList<>();
+        for (JsonNode element : node) {
+            if (!element.isTextual()) {
+                throw new BadRequestException("Field must be an array of strings: " + field);
+            }
+            values.add(element.textValue());
+        }
+        return values;
+    }
+
+    public String requiredText(String field) {
+        String value = text(field);
+        if (value == null || value.trim().isEmpty()) {
+            throw new BadRequestException("Field cannot be removed or blank: " + field);
+        }
+        return value;
+    }
+
+    public BigDecimal requiredDecimal(String field) {
+        JsonNode node = required(field);
+        if (node.isNumber()) {
+            return node.decimalValue();
+        }
+        if (node.isTextual()) {
+            try {
+                return new BigDecimal(node.textValue());
+            } catch (NumberFormatException ex) {
+                // fall through to the error below
+            }
+        }
+        throw new BadRequestException("Field must be a number: " + field);
+    }
+
+    public LocalDate requiredDate(String field) {
+        JsonNode node = required(field);
+        try {
+            return LocalDate.parse(node.asText());
+        } catch (DateTimeParseException ex) {
+            throw new BadRequestException("Field must be a date (yyyy-MM-dd): " + field);
+        }
+    }
+
+    private JsonNode required(String field) {
+        JsonNode node = document.get(field);
+        if (node == null || node.isNull()) {
+            throw new BadRequestException("Field cannot be removed: " + field);
+        }
+        return node;
+    }
+}
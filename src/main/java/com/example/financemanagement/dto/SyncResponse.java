@@ -0,0 +1,34 @@
+package com.example.financemanagement.dto;
+
+import com.example.financemanagement.entity.SyncEntityType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of the change feed returned by {@code GET /api/sync}. Clients apply
+ * {@code deleted} first and then upsert the rest; a {@code full} response replaces all
+ * local data. {@code token} is passed as {@code since} on the next sync.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponse {
+    private String token;
+    private boolean full;
+    private List<TransactionResponse> transactions;
+    private List<CategoryResponse> categories;
+    private List<SavingsGoalResponse> goals;
+    private List<Deletion> deleted;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Deletion {
+        private SyncEntityType type;
+        private Long id;
+        private String name;
+    }
+}
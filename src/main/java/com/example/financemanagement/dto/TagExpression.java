@@ -0,0 +1,224 @@
+package com.example.financemanagement.dto;
+
+import com.example.financemanagement.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * A boolean expression over transaction tags for {@code GET /api/transactions?tags=...}, e.g.
+ * {@code vacation-2024 AND (reimbursable OR NOT personal)}.
+ *
+ * <p>{@code NOT} binds tighter than {@code AND}, which binds tighter than {@code OR}; keywords
+ * are case-insensitive and tags are matched in lower case. The expression is evaluated over
+ * bitmaps with one bit per transaction, so every operator is a word-wise bit operation.
+ */
+public final class TagExpression {
+
+    /** Tags are letters, digits, {@code -}, {@code _} and {@code .}, starting with a letter or digit, and are stored in lower case. */
+    public static final String TAG_PATTERN = "[A-Za-z0-9][A-Za-z0-9_.-]{0,49}";
+
+    /** Most tags one transaction can carry. */
+    public static final int MAX_TAGS = 20;
+
+    private static final Pattern TAG = Pattern.compile(TAG_PATTERN);
+    private static final Pattern TOKEN = Pattern.compile("\\s+|(?=[()])|(?<=[()])");
+    private static final int MAX_LENGTH = 1000;
+
+    private final Node root;
+
+    private TagExpression(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Validates tags and puts them in canonical form.
+     * @param tags the tags as sent by the client, may be null
+     * @return the distinct lower-case tags, sorted
+     * @throws BadRequestException if a tag is malformed or there are too many
+     */
+    public static Set<String> normalizeTags(Collection<String> tags) {
+        Set<String> normalized = new TreeSet<>();
+        if (tags == null) {
+            return normalized;
+        }
+        for (String tag : tags) {
+            if (tag == null || !TAG.matcher(tag).matches()) {
+                throw new BadRequestException("Invalid tag: " + tag);
+            }
+            normalized.add(tag.toLowerCase(Locale.ROOT));
+        }
+        if (normalized.size() > MAX_TAGS) {
+            throw new BadRequestException("A transaction can have at most " + MAX_TAGS + " tags");
+        }
+        return normalized;
+    }
+
+    /**
+     * Parses an expression.
+     * @param expression the tag expression
+     * @return the parsed expression
+     * @throws BadRequestException if the expression is malformed
+     */
+    public static TagExpression parse(String expression) {
+        if (expression == null || expression.isBlank()) {
+            throw new BadRequestException("Tag expression must not be empty");
+        }
+        if (expression.length() > MAX_LENGTH) {
+            throw new BadRequestException("Tag expression must be at most " + MAX_LENGTH + " characters");
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN.split(expression.strip())) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        Parser parser = new Parser(tokens);
+        Node root = parser.or();
+        if (parser.position < tokens.size()) {
+            throw new BadRequestException("Unexpected '" + tokens.get(parser.position) + "' in tag expression");
+        }
+        return new TagExpression(root);
+    }
+
+    /**
+     * Evaluates the expression.
+     * @param bitmapOf the bitmap of a tag, never modified; an unknown tag maps to an empty bitmap
+     * @param universe the bits of all candidates, which {@code NOT} complements against
+     * @return a new bitmap of the matching bits, within the universe
+     */
+    public BitSet evaluate(Function<String, BitSet> bitmapOf, BitSet universe) {
+        BitSet result = root.evaluate(bitmapOf, universe);
+        result.and(universe);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return root.toString();
+    }
+
+    private sealed interface Node permits Tag, Not, And, Or {
+        BitSet evaluate(Function<String, BitSet> bitmapOf, BitSet universe);
+    }
+
+    private record Tag(String name) implements Node {
+        public BitSet evaluate(Function<String, BitSet> bitmapOf, BitSet universe) {
+            return (BitSet) bitmapOf.apply(name).clone();
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private record Not(Node operand) implements Node {
+        public BitSet evaluate(Function<String, BitSet> bitmapOf, BitSet universe) {
+            BitSet result = (BitSet) universe.clone();
+            result.andNot(operand.evaluate(bitmapOf, universe));
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "NOT " + operand;
+        }
+    }
+
+    private record And(List<Node> operands) implements Node {
+        public BitSet evaluate(Function<String, BitSet> bitmapOf, BitSet universe) {
+            BitSet result = operands.get(0).evaluate(bitmapOf, universe);
+            for (int i = 1; i < operands.size() && !result.isEmpty(); i++) {
+                result.and(operands.get(i).evaluate(bitmapOf, universe));
+            }
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "(" + String.join(" AND ", operands.stream().map(Node::toString).toList()) + ")";
+        }
+    }
+
+    private record Or(List<Node> operands) implements Node {
+        public BitSet evaluate(Function<String, BitSet> bitmapOf, BitSet universe) {
+            BitSet result = operands.get(0).evaluate(bitmapOf, universe);
+            for (int i = 1; i < operands.size(); i++) {
+                result.or(operands.get(i).evaluate(bitmapOf, universe));
+            }
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "(" + String.join(" OR ", operands.stream().map(Node::toString).toList()) + ")";
+        }
+    }
+
+    // Recursive descent: or := and (OR and)*, and := not (AND not)*, not := NOT not | ( or ) | tag
+    private static final class Parser {
+        private final List<String> tokens;
+        private int position;
+
+        Parser(List<String> tokens) {
+            this.tokens = tokens;
+        }
+
+        Node or() {
+            List<Node> operands = new ArrayList<>(List.of(and()));
+            while (accept("OR")) {
+                operands.add(and());
+            }
+            return operands.size() == 1 ? operands.get(0) : new Or(operands);
+        }
+
+        Node and() {
+            List<Node> operands = new ArrayList<>(List.of(not()));
+            while (accept("AND")) {
+                operands.add(not());
+            }
+            return operands.size() == 1 ? operands.get(0) : new And(operands);
+        }
+
+        Node not() {
+            if (accept("NOT")) {
+                return new Not(not());
+            }
+            if (accept("(")) {
+                Node inner = or();
+                if (!accept(")")) {
+                    throw new BadRequestException("Missing ')' in tag expression");
+                }
+                return inner;
+            }
+            if (position >= tokens.size()) {
+                throw new BadRequestException("Tag expression ends unexpectedly");
+            }
+            String token = tokens.get(position++);
+            if (!TAG.matcher(token).matches() || isKeyword(token)) {
+                throw new BadRequestException("Invalid tag in expression: " + token);
+            }
+            return new Tag(token.toLowerCase(Locale.ROOT));
+        }
+
+        private boolean accept(String expected) {
+            if (position < tokens.size() && tokens.get(position).equalsIgnoreCase(expected)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private static boolean isKeyword(String token) {
+            return token.equalsIgnoreCase("AND") || token.equalsIgnoreCase("OR") || token.equalsIgnoreCase("NOT");
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.example.financemanagement.dto;
+
+import com.example.financemanagement.entity.CategoryType;
+import com.example.financemanagement.exception.BadRequestException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * A parsed {@code filter} expression for {@code GET /api/transactions}, compiled to a JPQL
+ * predicate over {@code Transaction t}.
+ *
+ * <p>An expression is one or more clauses joined by {@code AND}, each a field, an operator and
+ * a value, e.g. {@code amount>100 AND type:EXPENSE AND category:Food,"Dining Out" AND
+ * date>=2024-01-01}:
+ * <ul>
+ *   <li>{@code amount} and {@code date} take {@code = : != > >= < <=} and one value</li>
+ *   <li>{@code type} and {@code category} take {@code = :} (any of) or {@code !=} (none of)
+ *       and a comma-separated list; category names with spaces or commas are quoted</li>
+ * </ul>
+ *
+ * <p>Clauses are sorted into a canonical order and values are bound as parameters, so every
+ * expression with the same fields and operators compiles to the same JPQL string and shares
+ * Hibernate's query plan. Categories are matched by id through the user's own categories,
+ * which keeps the predicates on the indexed {@code type}, {@code date} and
+ * {@code category_id} columns; {@code amount} only narrows the rows those select.
+ */
+public final class TransactionFilter {
+
+    /** Longest expression accepted. */
+    public static final int MAX_LENGTH = 1000;
+
+    private static final int MAX_CLAUSES = 20;
+    private static final Pattern CLAUSE = Pattern.compile("(?s)\\s*([A-Za-z]+)\\s*(>=|<=|!=|:|=|>|<)\\s*(.*?)\\s*");
+
+    private final List<Clause> clauses;
+
+    private TransactionFilter(List<Clause> clauses) {
+        this.clauses = clauses;
+    }
+
+    /**
+     * Parses and validates an expression.
+     * @param expression the filter expression
+     * @return the compiled filter
+     * @throws BadRequestException if the expression is malformed
+     */
+    public static TransactionFilter parse(String expression) {
+        if (expression == null || expression.isBlank()) {
+            throw new BadRequestException("Filter must not be empty");
+        }
+        if (expression.length() > MAX_LENGTH) {
+            throw new BadRequestException("Filter must be at most " + MAX_LENGTH + " characters");
+        }
+        List<String> parts = splitOutsideQuotes(expression, true);
+        if (parts.size() > MAX_CLAUSES) {
+            throw new BadRequestException("Filter must have at most " + MAX_CLAUSES + " clauses");
+        }
+        List<Clause> clauses = new ArrayList<>();
+        for (String part : parts) {
+            clauses.add(parseClause(part));
+        }
+        clauses.sort(Comparator.comparing(Clause::field).thenComparing(Clause::operator)
+                .thenComparing(clause -> clause.values().toString()));
+        return new TransactionFilter(List.copyOf(clauses));
+    }
+
+    /**
+     * Collapses whitespace outside quoted values, so expressions that differ only in spacing
+     * share one cache entry.
+     * @param expression the filter expression
+     * @return the expression with single spaces between tokens
+     */
+    public static String normalize(String expression) {
+        StringBuilder normalized = new StringBuilder(expression.length());
+        boolean quoted = false;
+        boolean pendingSpace = false;
+        for (int i = 0; i < expression.length(); i++) {
+            char c = expression.charAt(i);
+            if (!quoted && Character.isWhitespace(c)) {
+                pendingSpace = normalized.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                normalized.append(' ');
+                pendingSpace = false;
+            }
+            if (c == '"') {
+                quoted = !quoted;
+            }
+            normalized.append(c);
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * @return the JPQL predicate over alias {@code t}; category clauses also use {@code :userId}
+     */
+    public String predicate() {
+        List<String> predicates = new ArrayList<>();
+        for (int i = 0; i < clauses.size(); i++) {
+            predicates.add(clauses.get(i).predicate("f" + i));
+        }
+        return String.join(" AND ", predicates);
+    }
+
+    /**
+     * @return the values for the predicate's parameters, by name
+     */
+    public Map<String, Object> parameters() {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        for (int i = 0; i < clauses.size(); i++) {
+            Clause clause = clauses.get(i);
+            parameters.put("f" + i, clause.field().multiValued ? clause.values() : clause.values().get(0));
+        }
+        return parameters;
+    }
+
+    /**
+     * @return the expression in canonical form
+     */
+    @Override
+    public String toString() {
+        return clauses.stream().map(Clause::toString).collect(Collectors.joining(" AND "));
+    }
+
+    private static Clause parseClause(String text) {
+        Matcher matcher = CLAUSE.matcher(text);
+        if (!matcher.matches()) {
+            throw new BadRequestException("Invalid filter clause: " + text);
+        }
+        Field field;
+        try {
+            field = Field.valueOf(matcher.group(1).toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Unknown filter field: " + matcher.group(1));
+        }
+        Operator operator = Operator.of(matcher.group(2));
+        if (field.multiValued && operator.ordered) {
+            throw new BadRequestException("Operator " + matcher.group(2) + " is not supported for " + field.key());
+        }
+        List<String> rawValues = splitOutsideQuotes(matcher.group(3), false);
+        if (rawValues.isEmpty() || (!field.multiValued && rawValues.size() > 1)) {
+            throw new BadRequestException("Invalid value for " + field.key() + ": " + matcher.group(3));
+        }
+        TreeSet<Object> values = new TreeSet<>();
+        for (String raw : rawValues) {
+            values.add(field.parse(unquote(raw)));
+        }
+        return new Clause(field, operator, List.copyOf(values));
+    }
+
+    // Splits on AND between clauses, or on commas between values, ignoring quoted text
+    private static List<String> splitOutsideQuotes(String text, boolean clauses) {
+        List<String> parts = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            }
+            if (!quoted && clauses && isAndKeyword(text, i)) {
+                parts.add(current.toString());
+                current.setLength(0);
+                i += 3;
+                continue;
+            }
+            if (!quoted && !clauses && c == ',') {
+                parts.add(current.toString());
+                current.setLength(0);
+                continue;
+            }
+            current.append(c);
+        }
+        if (quoted) {
+            throw new BadRequestException("Unterminated quote in filter: " + text);
+        }
+        parts.add(current.toString());
+        for (String part : parts) {
+            if (part.isBlank()) {
+                throw new BadRequestException("Invalid filter: " + text);
+            }
+        }
+        return parts;
+    }
+
+    // Matches " AND " (any case) starting at the whitespace before the keyword
+    private static boolean isAndKeyword(String text, int i) {
+        return Character.isWhitespace(text.charAt(i))
+                && text.regionMatches(true, i + 1, "AND", 0, 3)
+                && i + 4 < text.length() && Character.isWhitespace(text.charAt(i + 4));
+    }
+
+    private static String unquote(String raw) {
+        String value = raw.strip();
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        if (value.isEmpty() || value.indexOf('"') >= 0) {
+            throw new BadRequestException("Invalid filter value: " + raw);
+        }
+        return value;
+    }
+
+    private enum Field {
+        TYPE(true),
+        DATE(false),
+        CATEGORY(true),
+        AMOUNT(false);
+
+        private final boolean multiValued;
+
+        Field(boolean multiValued) {
+            this.multiValued = multiValued;
+        }
+
+        String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        Object parse(String value) {
+            try {
+                return switch (this) {
+                    case TYPE -> CategoryType.valueOf(value.toUpperCase(Locale.ROOT));
+                    case DATE -> LocalDate.parse(value);
+                    case CATEGORY -> value;
+                    case AMOUNT -> new BigDecimal(value);
+                };
+            } catch (IllegalArgumentException | DateTimeParseException ex) {
+                throw new BadRequestException("Invalid value for " + key() + ": " + value);
+            }
+        }
+    }
+
+    private enum Operator {
+        EQ("=", false),
+        NE("!=", false),
+        GT(">", true),
+        GE(">=", true),
+        LT("<", true),
+        LE("<=", true);
+
+        private final String symbol;
+        private final boolean ordered;
+
+        Operator(String symbol, boolean ordered) {
+            this.symbol = symbol;
+            this.ordered = ordered;
+        }
+
+        static Operator of(String symbol) {
+            if (":".equals(symbol)) {
+                return EQ;
+            }
+            for (Operator operator : values()) {
+                if (operator.symbol.equals(symbol)) {
+                    return operator;
+                }
+            }
+            throw new BadRequestException("Unknown filter operator: " + symbol);
+        }
+    }
+
+    private record Clause(Field field, Operator operator, List<Object> values) {
+
+        String predicate(String parameter) {
+            return switch (field) {
+                case TYPE -> "t.type " + (operator == Operator.EQ ? "IN" : "NOT IN") + " :" + parameter;
+                case CATEGORY -> "t.category.id " + (operator == Operator.EQ ? "IN" : "NOT IN")
+                        + " (SELECT c.id FROM Category c WHERE c.user.id = :userId AND c.name IN :" + parameter + ")";
+                case DATE -> "t.date " + (operator == Operator.NE ? "<>" : operator.symbol) + " :" + parameter;
+                case AMOUNT -> "t.amount " + (operator == Operator.NE ? "<>" : operator.symbol) + " :" + parameter;
+            };
+        }
+
+        @Override
+        public String toString() {
+            String joined = values.stream()
+                    .map(value -> field == Field.CATEGORY ? "\"" + value + "\"" : value.toString())
+                    .collect(Collectors.joining(","));
+            return field.key() + operator.symbol + joined;
+        }
+    }
+}
@@ -4,12 +4,15 @@ import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Set;
 
 @Data
 @NoArgsConstructor
@@ -24,4 +27,12 @@ public class TransactionRequest {
     private String category;
 
     private String description;
+
+    // Replaces the transaction's tags when present; null keeps them on update
+    @Size(max = TagExpression.MAX_TAGS, message = "A transaction can have at most " + TagExpression.MAX_TAGS + " tags")
+    private Set<@Pattern(regexp = TagExpression.TAG_PATTERN, message = "Invalid tag") String> tags;
+
+    public TransactionRequest(BigDecimal amount, LocalDate date, String category, String description) {
+        this(amount, date, category, description, null);
+    }
 } 
\ No newline at end of file
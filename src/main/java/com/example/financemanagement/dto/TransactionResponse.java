@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Set;
 
 @Data
 @NoArgsConstructor
@@ -18,4 +19,9 @@ public class TransactionResponse {
     private String category;
     private String description;
     private CategoryType type;
+    private Set<String> tags = Set.of();
+
+    public TransactionResponse(Long id, BigDecimal amount, LocalDate date, String category, String description, CategoryType type) {
+        this(id, amount, date, category, description, type, Set.of());
+    }
 } 
\ No newline at end of file
@@ -2,11 +2,35 @@ package com.example.financemanagement.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.Objects;
 
+/**
+ * Entity representing an income or expense category.
+ *
+ * <p>Default categories are stored once as shared templates with no owning user
+ * ({@code user_id IS NULL}). A user only gets a private copy of a template the first
+ * time a transaction is written against it; custom categories always belong to a user.
+ *
+ * <p>A user's categories can be nested under a parent of the same type, e.g. Groceries and
+ * Restaurants under Food. The hierarchy is also stored in {@link CategoryClosure}, which
+ * reports use to roll totals up to every ancestor in one query.
+ *
+ * <p>Template names are unique too: {@code owner_key} is {@code user_id} with templates mapped to
+ * 0, so the unique constraint on it catches duplicates that NULL user ids would let through.
+ *
+ * <p>Categories change rarely and are read on almost every request, so rows are kept in the
+ * {@code categories} second-level cache region.
+ */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categories")
 @Table(name = "categories", uniqueConstraints = {
-    @UniqueConstraint(columnNames = {"name", "user_id"})
+    @UniqueConstraint(columnNames = {"name", "user_id"}),
+    @UniqueConstraint(name = "uk_categories_name_owner", columnNames = {"name", "owner_key"})
+}, indexes = {
+    @Index(name = "idx_categories_user_change", columnList = "user_id, change_seq"),
+    @Index(name = "idx_categories_parent", columnList = "parent_id")
 })
 public class Category {
 
@@ -25,10 +49,22 @@ public class Category {
     private boolean isCustom;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", nullable = false)
+    @JoinColumn(name = "user_id")
     @JsonIgnore
     private User user;
 
+    @Column(name = "owner_key", insertable = false, updatable = false,
+            columnDefinition = "BIGINT GENERATED ALWAYS AS (COALESCE(user_id, 0))")
+    private Long ownerKey;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parent_id", foreignKey = @ForeignKey(name = "fk_categories_parent"))
+    @JsonIgnore
+    private Category parent;
+
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
     public Category() {}
 
     public Category(String name, CategoryType type, boolean isCustom, User user) {
@@ -74,10 +110,33 @@ public class Category {
         return user;
     }
 
+    /**
+     * @return {@code true} if this is a shared default category not owned by any user
+     */
+    public boolean isTemplate() {
+        return user == null;
+    }
+
     public void setUser(User user) {
         this.user = user;
     }
 
+    public Category getParent() {
+        return parent;
+    }
+
+    public void setParent(Category parent) {
+        this.parent = parent;
+    }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,66 @@
+package com.example.financemanagement.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Records which transaction a client's {@code Idempotency-Key} created, so a retried
+ * {@code POST /api/transactions} reaching any node returns that transaction instead of
+ * inserting a duplicate. Rows are purged once they are older than the key time-to-live.
+ *
+ * <p>The transaction is referenced by id only: deleting the transaction leaves the key in
+ * place, and a retry then reports the transaction as not found.
+ */
+@Entity
+@Table(name = "idempotency_keys",
+        uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_keys_user_key",
+                columnNames = {"user_id", "idempotency_key"}),
+        indexes = @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at"))
+public class IdempotencyKey {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "idempotency_key", nullable = false)
+    private String key;
+
+    @Column(name = "transaction_id", nullable = false)
+    private Long transactionId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public IdempotencyKey() {}
+
+    public IdempotencyKey(Long userId, String key, Long transactionId, Instant createdAt) {
+        this.userId = userId;
+        this.key = key;
+        this.transactionId = transactionId;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
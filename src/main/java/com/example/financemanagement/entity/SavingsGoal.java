@@ -2,12 +2,14 @@ package com.example.financemanagement.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Objects;
 
 @Entity
-@Table(name = "savings_goals")
+@DynamicUpdate
+@Table(name = "savings_goals", indexes = @Index(name = "idx_savings_goals_user_change", columnList = "user_id, change_seq"))
 public class SavingsGoal {
 
     @Id
@@ -31,6 +33,9 @@ public class SavingsGoal {
     @JsonIgnore
     private User user;
 
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
     public SavingsGoal() {}
 
     public SavingsGoal(String goalName, BigDecimal targetAmount, LocalDate targetDate, LocalDate startDate, User user) {
@@ -89,6 +94,14 @@ public class SavingsGoal {
         this.user = user;
     }
 
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
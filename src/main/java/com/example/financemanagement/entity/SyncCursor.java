@@ -0,0 +1,34 @@
+package com.example.financemanagement.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * The last change sequence number handed out for a user. Every write to the user's
+ * transactions, categories or goals increments it and stamps the changed rows with the new
+ * value, so the sequence only ever increases for that user.
+ *
+ * <p>The increment takes a row lock that is held until the writing transaction ends. Writes
+ * for one user therefore commit in sequence order, and a reader that sees {@code lastSeq = n}
+ * can rely on every change up to {@code n} being visible.
+ */
+@Entity
+@Table(name = "sync_cursors")
+public class SyncCursor {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "last_seq", nullable = false)
+    private long lastSeq;
+
+    public SyncCursor() {}
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public long getLastSeq() {
+        return lastSeq;
+    }
+}
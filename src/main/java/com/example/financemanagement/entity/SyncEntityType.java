@@ -0,0 +1,10 @@
+package com.example.financemanagement.entity;
+
+/**
+ * The kinds of user data delivered by the change feed behind {@code GET /api/sync}.
+ */
+public enum SyncEntityType {
+    TRANSACTION,
+    CATEGORY,
+    GOAL
+}
@@ -0,0 +1,68 @@
+package com.example.financemanagement.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Marks a deleted transaction, category or goal so the change feed can tell clients to drop
+ * their copy. Categories are addressed by name in the API, so their tombstones carry the
+ * name as well as the id.
+ */
+@Entity
+@Table(name = "sync_tombstones",
+        indexes = @Index(name = "idx_sync_tombstones_user_change", columnList = "user_id, change_seq"))
+public class SyncTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false)
+    private SyncEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "entity_name")
+    private String entityName;
+
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
+    public SyncTombstone() {}
+
+    public SyncTombstone(Long userId, SyncEntityType entityType, Long entityId, String entityName, long changeSeq) {
+        this.userId = userId;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.entityName = entityName;
+        this.changeSeq = changeSeq;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public SyncEntityType getEntityType() {
+        return entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+}
@@ -2,12 +2,23 @@ package com.example.financemanagement.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.Objects;
+import java.util.Set;
 
 @Entity
-@Table(name = "transactions")
+@DynamicUpdate
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_user_date", columnList = "user_id, date"),
+        @Index(name = "idx_transactions_user_type_date", columnList = "user_id, type, date"),
+        @Index(name = "idx_transactions_category", columnList = "category_id"),
+        @Index(name = "idx_transactions_user_change", columnList = "user_id, change_seq")
+})
 public class Transaction {
 
     @Id
@@ -38,6 +49,18 @@ public class Transaction {
 
     private String categoryName;
 
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
+    // Loaded for all transactions of a result list in one statement
+    @ElementCollection
+    @CollectionTable(name = "transaction_tags",
+            joinColumns = @JoinColumn(name = "transaction_id"),
+            foreignKey = @ForeignKey(name = "fk_transaction_tags_transaction"))
+    @Column(name = "tag", length = 50, nullable = false)
+    @Fetch(FetchMode.SUBSELECT)
+    private Set<String> tags = new HashSet<>();
+
     public Transaction() {}
 
     public Transaction(BigDecimal amount, LocalDate date, String description, CategoryType type, User user, Category category) {
@@ -114,6 +137,22 @@ public class Transaction {
         this.categoryName = categoryName;
     }
 
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(Set<String> tags) {
+        this.tags = tags;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -2,6 +2,11 @@ package com.example.financemanagement.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -18,8 +23,11 @@ import java.util.Objects;
  * <ul>
  *   <li>Unique identification and authentication credentials</li>
  *   <li>Personal information (full name, phone number)</li>
+ *   <li>Whether the user holds the ADMIN role</li>
  *   <li>One-to-many relationships with transactions, categories, and savings goals</li>
  *   <li>Cascade operations for automatic cleanup of related data</li>
+ *   <li>Eviction from the authentication cache whenever the row changes</li>
+ *   <li>Second-level caching of the row and of its username-to-id resolution</li>
  * </ul>
  * 
  * <p>Database constraints:
@@ -35,6 +43,9 @@ import java.util.Objects;
  */
 @Entity
 @Table(name = "users")
+@EntityListeners(UserCacheInvalidationListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "user-natural-ids")
 public class User {
 
     /**
@@ -47,8 +58,10 @@ public class User {
 
     /**
      * Unique username for the user, typically an email address.
-     * Used for authentication and must be unique across all users.
+     * Used for authentication and must be unique across all users. Serves as the
+     * immutable natural id that requests resolve the current user by.
      */
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String username;
 
@@ -72,6 +85,15 @@ public class User {
     @Column(nullable = false)
     private String phoneNumber;
 
+    /**
+     * Whether the user holds the ADMIN role. Never set by self-registration; only by an
+     * admin's bulk provisioning call or the bootstrap account created at startup.
+     */
+    @Column(nullable = false)
+    @ColumnDefault("false")
+    @JsonIgnore
+    private boolean admin;
+
     /**
      * Collection of all transactions belonging to this user.
      * Configured with cascade delete and lazy loading for performance.
@@ -158,6 +180,14 @@ public class User {
         this.phoneNumber = phoneNumber;
     }
 
+    public boolean isAdmin() {
+        return admin;
+    }
+
+    public void setAdmin(boolean admin) {
+        this.admin = admin;
+    }
+
     public List<Transaction> getTransactions() {
         return transactions;
     }
@@ -0,0 +1,45 @@
+package com.example.financemanagement.entity;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener that evicts a user from the {@link UserCache} whenever the
+ * {@link User} row is updated (password or profile change) or deleted.
+ *
+ * <p>The entry is removed immediately and once more after commit, so an authentication
+ * that reloads the row between flush and commit cannot leave the old values cached.
+ */
+@Component
+public class UserCacheInvalidationListener {
+
+    private final ObjectProvider<UserCache> userCache;
+
+    public UserCacheInvalidationListener(ObjectProvider<UserCache> userCache) {
+        this.userCache = userCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void invalidate(User user) {
+        UserCache cache = userCache.getIfAvailable();
+        if (cache == null || user.getUsername() == null) {
+            return;
+        }
+        String username = user.getUsername();
+        cache.removeUserFromCache(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.removeUserFromCache(username);
+                }
+            });
+        }
+    }
+}
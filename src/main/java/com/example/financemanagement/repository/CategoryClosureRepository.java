@@ -0,0 +1,85 @@
+package com.example.financemanagement.repository;
+
+import com.example.financemanagement.entity.CategoryClosure;
+import com.example.financemanagement.entity.CategoryType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for the category hierarchy's closure table.
+ */
+@Repository
+public interface CategoryClosureRepository extends JpaRepository<CategoryClosure, CategoryClosure.Key> {
+
+    /**
+     * Adds a new category's own depth-0 row. A plain insert, where {@code save} would first
+     * select the row because its id is assigned.
+     *
+     * @return the number of inserted rows
+     */
+    @Modifying
+    @Query("INSERT INTO CategoryClosure (ancestorId, descendantId, depth) " +
+           "VALUES (:categoryId, :categoryId, 0)")
+    int insertSelf(@Param("categoryId") Long categoryId);
+
+    /**
+     * Links a new category below its parent: one row for each ancestor of the parent,
+     * including the parent itself, one level deeper than the parent. The category's own
+     * depth-0 row is added by {@link #insertSelf}.
+     *
+     * @return the number of inserted rows
+     */
+    @Modifying
+    @Query("INSERT INTO CategoryClosure (ancestorId, descendantId, depth) " +
+           "SELECT c.ancestorId, CAST(:categoryId AS Long), c.depth + 1 FROM CategoryClosure c " +
+           "WHERE c.descendantId = :parentId")
+    int insertAncestorPaths(@Param("categoryId") Long categoryId, @Param("parentId") Long parentId);
+
+    @Modifying
+    @Query("DELETE FROM CategoryClosure c WHERE c.descendantId = :categoryId")
+    int deleteByDescendantId(@Param("categoryId") Long categoryId);
+
+    /**
+     * Sums the user's transactions in a date range for every category and each of its
+     * ancestors in one pass: each transaction joins to the closure rows of its category and
+     * is counted once per ancestor. {@code ownTotal} only counts the category's own rows.
+     */
+    @Query("SELECT cc.ancestorId AS categoryId, SUM(t.amount) AS total, " +
+           "SUM(CASE WHEN cc.depth = 0 THEN t.amount ELSE 0 END) AS ownTotal " +
+           "FROM Transaction t JOIN CategoryClosure cc ON cc.descendantId = t.category.id " +
+           "WHERE t.user.id = :userId AND t.date >= :startDate AND t.date <= :endDate " +
+           "GROUP BY cc.ancestorId")
+    List<CategoryTotal> sumByCategoryAndAncestors(@Param("userId") Long userId,
+                                                  @Param("startDate") LocalDate startDate,
+                                                  @Param("endDate") LocalDate endDate);
+
+    /**
+     * Name, type, parent name and depth of each given category; depth 0 is a root.
+     */
+    @Query("SELECT c.id AS categoryId, c.name AS name, c.type AS type, p.name AS parent, " +
+           "(SELECT MAX(cc.depth) FROM CategoryClosure cc WHERE cc.descendantId = c.id) AS depth " +
+           "FROM Category c LEFT JOIN c.parent p WHERE c.id IN :ids")
+    List<CategoryNode> findNodes(@Param("ids") Collection<Long> ids);
+
+    interface CategoryTotal {
+        Long getCategoryId();
+        BigDecimal getTotal();
+        BigDecimal getOwnTotal();
+    }
+
+    interface CategoryNode {
+        Long getCategoryId();
+        String getName();
+        CategoryType getType();
+        String getParent();
+        Integer getDepth();
+    }
+}
@@ -1,17 +1,53 @@
 package com.example.financemanagement.repository;
 
 import com.example.financemanagement.entity.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Repository for categories. The lookups run on every transaction write and category listing,
+ * so their results are kept in the {@code category-queries} second-level cache region;
+ * Hibernate discards them whenever the {@code categories} table is written through JPA.
+ */
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "category-queries")})
     List<Category> findByUserId(Long userId);
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "category-queries")})
     Optional<Category> findByNameAndUserId(String name, Long userId);
+
+    /**
+     * Same lookup as {@link #findByNameAndUserId} but past the query cache, for re-reading a
+     * row another transaction has just committed.
+     */
+    Optional<Category> readByNameAndUserId(String name, Long userId);
     boolean existsByNameAndUserId(String name, Long userId);
     boolean existsByIdAndIsCustom(Long id, boolean isCustom);
     Optional<Category> findByIdAndUserId(Long id, Long userId);
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "category-queries")})
+    List<Category> findByUserIsNull();
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "category-queries")})
+    Optional<Category> findByNameAndUserIsNull(String name);
+    boolean existsByNameAndUserIsNull(String name);
+    boolean existsByParentId(Long parentId);
+
+    /**
+     * Finds the user's own categories stamped with a change sequence in {@code (after, upTo]},
+     * for the sync change feed.
+     */
+    @Query("SELECT c FROM Category c WHERE c.user.id = :userId " +
+           "AND c.changeSeq > :after AND c.changeSeq <= :upTo ORDER BY c.changeSeq")
+    List<Category> findChanged(@Param("userId") Long userId, @Param("after") long after, @Param("upTo") long upTo);
 } 
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.example.financemanagement.repository;
+
+import com.example.financemanagement.entity.IdempotencyKey;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, Long> {
+
+    /**
+     * Claims a key for a transaction in one statement. Returns 0 instead of failing when the
+     * key is already taken, so the caller can look up the transaction it belongs to. The
+     * native-spaces hint confines Hibernate's cache invalidation to this table; without it a
+     * native statement evicts every second-level cache region.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Query(value = "INSERT INTO idempotency_keys (user_id, idempotency_key, transaction_id, created_at) " +
+                   "SELECT :userId, :key, :transactionId, :createdAt " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM idempotency_keys " +
+                   "WHERE user_id = :userId AND idempotency_key = :key)",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("key") String key,
+                       @Param("transactionId") Long transactionId, @Param("createdAt") Instant createdAt);
+
+    @Query("SELECT k.transactionId FROM IdempotencyKey k WHERE k.userId = :userId AND k.key = :key")
+    Optional<Long> findTransactionId(@Param("userId") Long userId, @Param("key") String key);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -1,14 +1,48 @@
 package com.example.financemanagement.repository;
 
 import com.example.financemanagement.entity.SavingsGoal;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
-public interface SavingsGoalRepository extends JpaRepository<SavingsGoal, Long> {
+public interface SavingsGoalRepository extends UserOwnedRepository<SavingsGoal> {
     List<SavingsGoal> findByUserId(Long userId);
-    Optional<SavingsGoal> findByIdAndUserId(Long id, Long userId);
-} 
\ No newline at end of file
+
+    /**
+     * Net income minus expenses from each goal's start date up to {@code today}, for all of
+     * the user's goals in one aggregate query.
+     */
+    @Query("SELECT g.id AS goalId, COALESCE(SUM(CASE WHEN t.type = com.example.financemanagement.entity.CategoryType.INCOME " +
+           "THEN t.amount ELSE -t.amount END), 0) AS progress " +
+           "FROM SavingsGoal g LEFT JOIN Transaction t " +
+           "ON t.user.id = g.user.id AND t.date >= g.startDate AND t.date <= :today " +
+           "WHERE g.user.id = :userId GROUP BY g.id")
+    List<GoalProgress> findProgressByUserId(@Param("userId") Long userId, @Param("today") LocalDate today);
+
+    interface GoalProgress {
+        Long getGoalId();
+        BigDecimal getProgress();
+    }
+
+    /**
+     * Applies a partial update to an owned goal in one statement; {@code null} arguments
+     * keep the current column value. The row is stamped with the change sequence.
+     *
+     * @return the number of updated rows, 0 when no owned row matched
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE SavingsGoal g SET g.targetAmount = COALESCE(:targetAmount, g.targetAmount), " +
+           "g.targetDate = COALESCE(:targetDate, g.targetDate), g.changeSeq = :changeSeq " +
+           "WHERE g.id = :id AND g.user.id = :userId")
+    int updateOwned(@Param("id") Long id,
+                    @Param("userId") Long userId,
+                    @Param("targetAmount") BigDecimal targetAmount,
+                    @Param("targetDate") LocalDate targetDate,
+                    @Param("changeSeq") long changeSeq);
+}
@@ -0,0 +1,43 @@
+package com.example.financemanagement.repository;
+
+import com.example.financemanagement.entity.SyncCursor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SyncCursorRepository extends JpaRepository<SyncCursor, Long> {
+
+    /**
+     * Advances the user's sequence by one, locking the cursor row until the transaction ends.
+     *
+     * @return the number of updated rows, 0 when the user has no cursor yet
+     */
+    @Modifying
+    @Query("UPDATE SyncCursor c SET c.lastSeq = c.lastSeq + 1 WHERE c.userId = :userId")
+    int increment(@Param("userId") Long userId);
+
+    /**
+     * Creates the user's cursor at sequence 0 unless another transaction already has. A
+     * concurrent insert that is not committed yet is not seen and fails the statement with a
+     * primary key violation.
+     *
+     * @return 1 if the cursor was created, 0 if it already existed
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "sync_cursors"))
+    @Query(value = "INSERT INTO sync_cursors (user_id, last_seq) SELECT :userId, 0 " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM sync_cursors WHERE user_id = :userId)",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId);
+
+    @Query("SELECT c.lastSeq FROM SyncCursor c WHERE c.userId = :userId")
+    Optional<Long> findLastSeq(@Param("userId") Long userId);
+}
@@ -0,0 +1,19 @@
+package com.example.financemanagement.repository;
+
+import com.example.financemanagement.entity.SyncTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+
+    @Query("SELECT t FROM SyncTombstone t WHERE t.userId = :userId " +
+           "AND t.changeSeq > :after AND t.changeSeq <= :upTo ORDER BY t.changeSeq")
+    List<SyncTombstone> findChanged(@Param("userId") Long userId,
+                                    @Param("after") long after,
+                                    @Param("upTo") long upTo);
+}
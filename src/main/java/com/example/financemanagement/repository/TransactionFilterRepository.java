@@ -0,0 +1,21 @@
+package com.example.financemanagement.repository;
+
+import com.example.financemanagement.dto.TransactionFilter;
+import com.example.financemanagement.entity.Transaction;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Runs {@link TransactionFilter} expressions, which are compiled to JPQL at runtime and so
+ * cannot be declared as {@code @Query} methods.
+ */
+public interface TransactionFilterRepository {
+
+    /**
+     * Finds a user's transactions matching a filter and the optional legacy filters, newest first.
+     * Only the non-null legacy filters become predicates.
+     */
+    List<Transaction> findByFilter(Long userId, TransactionFilter filter,
+                                   LocalDate startDate, LocalDate endDate, String categoryName);
+}
@@ -0,0 +1,49 @@
+package com.example.financemanagement.repository;
+
+import com.example.financemanagement.dto.TransactionFilter;
+import com.example.financemanagement.entity.Transaction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+class TransactionFilterRepositoryImpl implements TransactionFilterRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Transaction> findByFilter(Long userId, TransactionFilter filter,
+                                          LocalDate startDate, LocalDate endDate, String categoryName) {
+        StringBuilder jpql = new StringBuilder("SELECT t FROM Transaction t WHERE t.user.id = :userId AND ")
+                .append(filter.predicate());
+        if (startDate != null) {
+            jpql.append(" AND t.date >= :startDate");
+        }
+        if (endDate != null) {
+            jpql.append(" AND t.date <= :endDate");
+        }
+        if (categoryName != null) {
+            jpql.append(" AND t.category.name = :categoryName");
+        }
+        jpql.append(" ORDER BY t.date DESC");
+
+        TypedQuery<Transaction> query = entityManager.createQuery(jpql.toString(), Transaction.class)
+                .setParameter("userId", userId);
+        filter.parameters().forEach(query::setParameter);
+        if (startDate != null) {
+            query.setParameter("startDate", startDate);
+        }
+        if (endDate != null) {
+            query.setParameter("endDate", endDate);
+        }
+        if (categoryName != null) {
+            query.setParameter("categoryName", categoryName);
+        }
+        return query.getResultList();
+    }
+}
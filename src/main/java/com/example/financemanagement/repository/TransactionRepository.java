@@ -1,18 +1,21 @@
 package com.example.financemanagement.repository;
 
+import com.example.financemanagement.entity.Category;
 import com.example.financemanagement.entity.CategoryType;
 import com.example.financemanagement.entity.Transaction;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends UserOwnedRepository<Transaction>, TransactionFilterRepository {
     List<Transaction> findByUserIdOrderByDateDesc(Long userId);
     
     boolean existsByCategoryId(Long categoryId);
@@ -39,7 +42,47 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
             @Param("endDate") LocalDate endDate,
             @Param("categoryName") String categoryName);
 
+    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId AND t.id IN :ids " +
+           "ORDER BY t.date DESC, t.id DESC")
+    List<Transaction> findOwnedByIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids, Pageable page);
+
     @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId " +
             "AND t.date >= :startDate AND t.date <= :endDate")
     List<Transaction> findByUserIdAndDateRange(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
-} 
\ No newline at end of file
+
+    /**
+     * Applies a partial update to an owned transaction in one statement; {@code null}
+     * arguments keep the current column value. The row is stamped with the change sequence.
+     *
+     * @return the number of updated rows, 0 when no owned row matched
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Transaction t SET t.amount = COALESCE(:amount, t.amount), " +
+           "t.description = COALESCE(:description, t.description), t.changeSeq = :changeSeq " +
+           "WHERE t.id = :id AND t.user.id = :userId")
+    int updateOwned(@Param("id") Long id,
+                    @Param("userId") Long userId,
+                    @Param("amount") BigDecimal amount,
+                    @Param("description") String description,
+                    @Param("changeSeq") long changeSeq);
+
+    /**
+     * Same as {@link #updateOwned} but also moves the transaction to another category,
+     * keeping the denormalized category name and type in step.
+     *
+     * @return the number of updated rows, 0 when no owned row matched
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Transaction t SET t.amount = COALESCE(:amount, t.amount), " +
+           "t.description = COALESCE(:description, t.description), " +
+           "t.category = :category, t.categoryName = :categoryName, t.type = :type, t.changeSeq = :changeSeq " +
+           "WHERE t.id = :id AND t.user.id = :userId")
+    int updateOwnedWithCategory(@Param("id") Long id,
+                                @Param("userId") Long userId,
+                                @Param("amount") BigDecimal amount,
+                                @Param("description") String description,
+                                @Param("category") Category category,
+                                @Param("categoryName") String categoryName,
+                                @Param("type") CategoryType type,
+                                @Param("changeSeq") long changeSeq);
+}
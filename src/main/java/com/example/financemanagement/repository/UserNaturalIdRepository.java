@@ -0,0 +1,17 @@
+package com.example.financemanagement.repository;
+
+import com.example.financemanagement.entity.User;
+
+import java.util.Optional;
+
+/**
+ * Username lookups resolved through Hibernate's natural-id API instead of a query.
+ *
+ * <p>Every authenticated request loads the current user by username. Going through the
+ * natural id lets Hibernate answer from the second-level cache (username to id, then id to
+ * row) without touching the database. Unknown usernames always reach the database, so users
+ * inserted outside JPA, e.g. by bulk provisioning, are found immediately.
+ */
+public interface UserNaturalIdRepository {
+    Optional<User> findByUsername(String username);
+}
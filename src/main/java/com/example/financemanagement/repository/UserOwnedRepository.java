@@ -0,0 +1,46 @@
+package com.example.financemanagement.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Base repository for entities owned by a single user.
+ *
+ * <p>Lookups by id always carry the owner's id, so ownership is enforced by an indexed
+ * {@code user_id = ?} predicate in SQL rather than by loading the row (and its user
+ * proxy) and comparing ids in Java. Rows owned by someone else are never fetched.
+ *
+ * <p>Mutations follow the same rule: they are issued as a single bulk statement and the
+ * affected row count tells the caller whether an owned row matched. Bulk statements skip
+ * the persistence context and entity listeners, so they are only declared for entities
+ * that have none.
+ *
+ * @param <T> the owned entity type
+ */
+@NoRepositoryBean
+public interface UserOwnedRepository<T> extends JpaRepository<T, Long> {
+    Optional<T> findByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Finds the user's rows stamped with a change sequence in {@code (after, upTo]}, for the
+     * sync change feed.
+     */
+    @Query("SELECT e FROM #{#entityName} e WHERE e.user.id = :userId " +
+           "AND e.changeSeq > :after AND e.changeSeq <= :upTo ORDER BY e.changeSeq")
+    List<T> findChanged(@Param("userId") Long userId, @Param("after") long after, @Param("upTo") long upTo);
+
+    /**
+     * Deletes the row with the given id if, and only if, it belongs to the given user.
+     *
+     * @return the number of deleted rows, 0 when no owned row matched
+     */
+    @Modifying
+    @Query("DELETE FROM #{#entityName} e WHERE e.id = :id AND e.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+}
@@ -0,0 +1,74 @@
+package com.example.financemanagement.service;
+
+import com.example.financemanagement.entity.User;
+import com.example.financemanagement.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Creates the first admin account on startup, so a fresh installation can provision users.
+ *
+ * <p>When {@code app.admin.bootstrapUsername} and {@code app.admin.bootstrapPassword} are set
+ * and no user has that username yet, the account is created with the ADMIN role. An existing
+ * user is never promoted: someone else may have registered the username first, so a taken
+ * username is only logged. Further admins are created through the bulk provisioning call.
+ */
+@Component
+public class AdminBootstrapRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminBootstrapRunner.class);
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final UsernameAvailabilityService usernameAvailabilityService;
+    private final String username;
+    private final String password;
+
+    /**
+     * Constructs a new AdminBootstrapRunner.
+     *
+     * @param userRepository the repository the admin is saved with
+     * @param passwordEncoder the encoder for the admin's password
+     * @param usernameAvailabilityService the filter updated with the admin's username
+     * @param username the admin's username; blank to create no admin
+     * @param password the admin's initial password
+     */
+    public AdminBootstrapRunner(UserRepository userRepository,
+                                PasswordEncoder passwordEncoder,
+                                UsernameAvailabilityService usernameAvailabilityService,
+                                @Value("${app.admin.bootstrapUsername:}") String username,
+                                @Value("${app.admin.bootstrapPassword:}") String password) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.usernameAvailabilityService = usernameAvailabilityService;
+        this.username = username;
+        this.password = password;
+    }
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        if (username.isBlank()) {
+            return;
+        }
+        if (password.isBlank()) {
+            logger.warn("No app.admin.bootstrapPassword set; not creating admin {}", username);
+            return;
+        }
+        if (userRepository.existsByUsername(username)) {
+            logger.info("Admin bootstrap skipped: user {} already exists", username);
+            return;
+        }
+        User admin = new User(username, passwordEncoder.encode(password), "Administrator", "");
+        admin.setAdmin(true);
+        userRepository.save(admin);
+        usernameAvailabilityService.recordUsername(username);
+        logger.info("Created admin {}", username);
+    }
+}
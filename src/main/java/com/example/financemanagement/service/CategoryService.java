@@ -3,27 +3,39 @@ package com.example.financemanagement.service;
 import com.example.financemanagement.dto.CategoryResponse;
 import com.example.financemanagement.dto.CreateCategoryRequest;
 import com.example.financemanagement.entity.Category;
+import com.example.financemanagement.entity.CategoryType;
+import com.example.financemanagement.entity.SyncEntityType;
 import com.example.financemanagement.entity.User;
 import com.example.financemanagement.exception.BadRequestException;
 import com.example.financemanagement.exception.ForbiddenException;
 import com.example.financemanagement.exception.ResourceConflictException;
 import com.example.financemanagement.exception.ResourceNotFoundException;
+import com.example.financemanagement.repository.CategoryClosureRepository;
 import com.example.financemanagement.repository.CategoryRepository;
 import com.example.financemanagement.repository.TransactionRepository;
 import com.example.financemanagement.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
  * Service for managing financial categories.
  */
 @Service
+@Timed(value = "service.operation", description = "Service method latency, tagged by class and method")
 public class CategoryService {
 
     @Autowired
@@ -35,32 +47,71 @@ public class CategoryService {
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private ChangeSequence changeSequence;
+
+    @Autowired
+    private CategoryClosureRepository categoryClosureRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     /**
      * Finds all categories (default and custom) for the currently authenticated user.
+     * Shared default templates are merged with the user's own rows; a user-owned copy of a
+     * template replaces the template in the result.
      * @return A list of category data transfer objects.
      */
     @Transactional(readOnly = true)
     public List<CategoryResponse> findAllByCurrentUser() {
         User user = getCurrentUser();
-        return categoryRepository.findByUserId(user.getId()).stream()
+        Map<String, Category> visible = new LinkedHashMap<>();
+        for (Category template : categoryRepository.findByUserIsNull()) {
+            visible.put(template.getName(), template);
+        }
+        for (Category owned : categoryRepository.findByUserId(user.getId())) {
+            visible.put(owned.getName(), owned);
+        }
+        return visible.values().stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
 
     /**
-     * Creates a new custom category for the currently authenticated user.
+     * Creates a new custom category for the currently authenticated user, optionally nested
+     * under a parent category of the same type. A default category used as the parent is
+     * first copied into a user-owned row, as on a transaction's first write.
      * @param request DTO containing the details of the category to create.
      * @return The newly created category as a DTO.
      * @throws ResourceConflictException if a category with the same name already exists for the user.
+     * @throws ResourceNotFoundException if the parent category does not exist.
+     * @throws BadRequestException if the parent has a different type.
      */
     @Transactional
     public CategoryResponse createCustomCategory(CreateCategoryRequest request) {
         User user = getCurrentUser();
-        if (categoryRepository.existsByNameAndUserId(request.getName(), user.getId())) {
+        if (categoryRepository.existsByNameAndUserId(request.getName(), user.getId())
+                || categoryRepository.existsByNameAndUserIsNull(request.getName())) {
             throw new ResourceConflictException("Category with name '" + request.getName() + "' already exists.");
         }
-        Category category = new Category(request.getName(), request.getType(), true, user);
+        Category parent = null;
+        CategoryType type = request.getType();
+        if (request.getParent() != null) {
+            parent = resolveParent(request.getParent(), user);
+            if (type == null) {
+                type = parent.getType();
+            } else if (type != parent.getType()) {
+                throw new BadRequestException("Category type must match its parent's type " + parent.getType() + ".");
+            }
+        }
+        Category category = new Category(request.getName(), type, true, user);
+        category.setParent(parent);
+        category.setChangeSeq(changeSequence.next(user.getId()));
         Category savedCategory = categoryRepository.save(category);
+        categoryClosureRepository.insertSelf(savedCategory.getId());
+        if (parent != null) {
+            categoryClosureRepository.insertAncestorPaths(savedCategory.getId(), parent.getId());
+        }
         return convertToResponse(savedCategory);
     }
 
@@ -75,7 +126,7 @@ public class CategoryService {
     @Transactional
     public void deleteCustomCategory(String name) {
         User user = getCurrentUser();
-        Category category = categoryRepository.findByNameAndUserId(name, user.getId())
+        Category category = findOwnedOrRejectTemplate(name, user)
                 .orElseThrow(() -> new ResourceNotFoundException("Custom category '" + name + "' not found."));
 
         if (!category.isCustom()) {
@@ -86,7 +137,13 @@ public class CategoryService {
             throw new BadRequestException("Cannot delete category that is in use by a transaction.");
         }
 
+        if (categoryRepository.existsByParentId(category.getId())) {
+            throw new BadRequestException("Cannot delete category that has subcategories.");
+        }
+
+        categoryClosureRepository.deleteByDescendantId(category.getId());
         categoryRepository.delete(category);
+        changeSequence.recordDeletion(user.getId(), SyncEntityType.CATEGORY, category.getId(), category.getName());
     }
 
     /**
@@ -97,7 +154,7 @@ public class CategoryService {
     @Transactional
     public void deleteCategoryByName(String name) {
         User user = getCurrentUser();
-        Category category = categoryRepository.findByNameAndUserId(name, user.getId())
+        Category category = findOwnedOrRejectTemplate(name, user)
                 .orElseThrow(() -> new ResourceNotFoundException("Category '" + name + "' not found."));
 
         if (!category.isCustom()) {
@@ -108,9 +165,63 @@ public class CategoryService {
             throw new BadRequestException("Cannot delete category that is in use by a transaction.");
         }
 
+        if (categoryRepository.existsByParentId(category.getId())) {
+            throw new BadRequestException("Cannot delete category that has subcategories.");
+        }
+
+        categoryClosureRepository.deleteByDescendantId(category.getId());
         categoryRepository.delete(category);
+        changeSequence.recordDeletion(user.getId(), SyncEntityType.CATEGORY, category.getId(), category.getName());
     }
     
+    /**
+     * Resolves the parent of a new category to a user-owned row, copying a matching default
+     * template on first use. When a concurrent request copies the same template first, its
+     * row is read back.
+     * @param name The parent's name.
+     * @param user The current user.
+     * @return The user-owned parent category.
+     * @throws ResourceNotFoundException if neither the user nor the templates define it.
+     */
+    private Category resolveParent(String name, User user) {
+        Optional<Category> owned = categoryRepository.findByNameAndUserId(name, user.getId());
+        if (owned.isPresent()) {
+            return owned.get();
+        }
+        Category template = categoryRepository.findByNameAndUserIsNull(name)
+                .orElseThrow(() -> new ResourceNotFoundException("Parent category '" + name + "' not found."));
+        TransactionTemplate copyTransaction = new TransactionTemplate(transactionManager);
+        copyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            // Committed on its own, so losing the race against a concurrent copy only fails the copy
+            return copyTransaction.execute(status -> {
+                Category copy = new Category(template.getName(), template.getType(), false, user);
+                copy.setChangeSeq(changeSequence.next(user.getId()));
+                Category saved = categoryRepository.save(copy);
+                categoryClosureRepository.insertSelf(saved.getId());
+                return saved;
+            });
+        } catch (DataIntegrityViolationException ex) {
+            return categoryRepository.readByNameAndUserId(name, user.getId())
+                    .orElseThrow(() -> ex);
+        }
+    }
+
+    /**
+     * Looks up a user-owned category by name for deletion.
+     * @param name The category name.
+     * @param user The current user.
+     * @return The user's category, or empty if no such category is visible to the user.
+     * @throws ForbiddenException if the name only matches a shared default template.
+     */
+    private Optional<Category> findOwnedOrRejectTemplate(String name, User user) {
+        Optional<Category> owned = categoryRepository.findByNameAndUserId(name, user.getId());
+        if (owned.isEmpty() && categoryRepository.existsByNameAndUserIsNull(name)) {
+            throw new ForbiddenException("Cannot delete default categories.");
+        }
+        return owned;
+    }
+
     /**
      * Retrieves the currently authenticated user from the security context.
      * @return The User entity.
@@ -127,6 +238,7 @@ public class CategoryService {
      * @return The corresponding DTO.
      */
     private CategoryResponse convertToResponse(Category category) {
-        return new CategoryResponse(category.getName(), category.getType(), category.isCustom());
+        return new CategoryResponse(category.getName(), category.getType(), category.isCustom(),
+                category.getParent() == null ? null : category.getParent().getName());
     }
 }
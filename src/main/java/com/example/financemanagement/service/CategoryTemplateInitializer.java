@@ -0,0 +1,73 @@
+package com.example.financemanagement.service;
+
+import com.example.financemanagement.entity.Category;
+import com.example.financemanagement.entity.CategoryType;
+import com.example.financemanagement.repository.CategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Seeds the shared default category templates on startup.
+ *
+ * <p>Templates are global rows without an owning user. Every user sees them in their category
+ * list without owning a copy; a private copy is created only when the user first writes a
+ * transaction against one of them.
+ *
+ * <p>Each template is inserted on its own, so when several nodes start at once and seed the
+ * same template, the unique constraint on template names rejects the copies and the node that
+ * lost just moves on.
+ */
+@Component
+public class CategoryTemplateInitializer implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryTemplateInitializer.class);
+
+    static final List<Category> DEFAULT_TEMPLATES = List.of(
+            new Category("Salary", CategoryType.INCOME, false, null),
+            new Category("Food", CategoryType.EXPENSE, false, null),
+            new Category("Rent", CategoryType.EXPENSE, false, null),
+            new Category("Transportation", CategoryType.EXPENSE, false, null),
+            new Category("Entertainment", CategoryType.EXPENSE, false, null),
+            new Category("Healthcare", CategoryType.EXPENSE, false, null),
+            new Category("Utilities", CategoryType.EXPENSE, false, null)
+    );
+
+    private final CategoryRepository categoryRepository;
+
+    public CategoryTemplateInitializer(CategoryRepository categoryRepository) {
+        this.categoryRepository = categoryRepository;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Set<String> existing = categoryRepository.findByUserIsNull().stream()
+                .map(Category::getName)
+                .collect(Collectors.toSet());
+
+        List<Category> missing = DEFAULT_TEMPLATES.stream()
+                .filter(template -> !existing.contains(template.getName()))
+                .map(template -> new Category(template.getName(), template.getType(), false, null))
+                .collect(Collectors.toList());
+
+        int seeded = 0;
+        for (Category template : missing) {
+            try {
+                categoryRepository.save(template);
+                seeded++;
+            } catch (DataIntegrityViolationException ex) {
+                logger.debug("Category template {} was seeded concurrently", template.getName());
+            }
+        }
+        if (seeded > 0) {
+            logger.info("Seeded {} default category templates", seeded);
+        }
+    }
+}
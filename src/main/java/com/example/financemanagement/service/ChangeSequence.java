@@ -0,0 +1,103 @@
+package com.example.financemanagement.service;
+
+import com.example.financemanagement.entity.SyncEntityType;
+import com.example.financemanagement.entity.SyncTombstone;
+import com.example.financemanagement.repository.SyncCursorRepository;
+import com.example.financemanagement.repository.SyncTombstoneRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Hands out the per-user change sequence numbers behind {@code GET /api/sync}.
+ *
+ * <p>Services call {@link #next(Long)} inside their write transaction and stamp the rows they
+ * insert or update with the result; deletions are recorded as tombstones with
+ * {@link #recordDeletion}. The cursor row is advanced once per database transaction, so all
+ * changes a request makes share one number and a client never sees half of them.
+ *
+ * @author Finance Management Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class ChangeSequence {
+
+    @Autowired
+    private SyncCursorRepository syncCursorRepository;
+
+    @Autowired
+    private SyncTombstoneRepository syncTombstoneRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Returns the sequence number for the user's changes in the current transaction,
+     * advancing the user's cursor on the first call. The cursor row stays locked until the
+     * transaction ends, which orders concurrent writers for the same user.
+     * @param userId The user whose data is being changed.
+     * @return The sequence number to stamp on changed rows.
+     */
+    public long next(Long userId) {
+        String resourceKey = ChangeSequence.class.getName() + "." + userId;
+        Long bound = (Long) TransactionSynchronizationManager.getResource(resourceKey);
+        if (bound != null) {
+            return bound;
+        }
+        if (syncCursorRepository.increment(userId) == 0) {
+            createCursor(userId);
+            syncCursorRepository.increment(userId);
+        }
+        long sequence = current(userId);
+        TransactionSynchronizationManager.bindResource(resourceKey, sequence);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(resourceKey);
+            }
+        });
+        return sequence;
+    }
+
+    /**
+     * Creates the user's cursor row at sequence 0 in a transaction of its own. Two first writes
+     * for a user may both get here; had they inserted the row in their own transactions, the
+     * second insert would fail on the primary key and roll that request back. Committed
+     * separately, only the losing insert fails and both go on to increment the row.
+     */
+    private void createCursor(Long userId) {
+        TransactionTemplate cursorTransaction = new TransactionTemplate(transactionManager);
+        cursorTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            cursorTransaction.executeWithoutResult(status -> syncCursorRepository.insertIfAbsent(userId));
+        } catch (DataIntegrityViolationException ex) {
+            // Another transaction created it first
+        }
+    }
+
+    /**
+     * Returns the user's last committed sequence number, 0 if the user has never written.
+     * @param userId The user.
+     * @return The highest sequence number every committed change is covered by.
+     */
+    public long current(Long userId) {
+        return syncCursorRepository.findLastSeq(userId).orElse(0L);
+    }
+
+    /**
+     * Records that a row was deleted, so the next sync tells clients to drop it.
+     * @param userId The owner of the deleted row.
+     * @param type The kind of row.
+     * @param id The id of the deleted row.
+     * @param name The category name, or null for other kinds.
+     */
+    public void recordDeletion(Long userId, SyncEntityType type, Long id, String name) {
+        syncTombstoneRepository.save(new SyncTombstone(userId, type, id, name, next(userId)));
+    }
+}
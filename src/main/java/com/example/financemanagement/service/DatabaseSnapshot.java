@@ -0,0 +1,351 @@
+package com.example.financemanagement.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Binary row format used by {@link DatabaseSnapshotService}.
+ *
+ * <p>The snapshot carries data only. The schema is whatever the application creates on startup
+ * (Hibernate or migrations), so a restore streams each table's rows straight into batched
+ * prepared inserts with referential integrity checks suspended, instead of parsing and
+ * replaying SQL text. Layout, per table:
+ * <pre>
+ *   UTF table name, int column count, (UTF name, int JDBC type) per column,
+ *   then per row: byte 1 followed by the values, and a final byte 0
+ * </pre>
+ * Each value is prefixed by a null flag. The stream ends with an empty table name.
+ *
+ * <p>Flyway's schema history is left out: the restoring instance has already migrated its
+ * schema and recorded that itself.
+ *
+ * <p>Uses H2-specific statements ({@code SET REFERENTIAL_INTEGRITY}, identity restart).
+ */
+final class DatabaseSnapshot {
+
+    static final int MAGIC = 0x464D534E; // "FMSN"
+    static final int VERSION = 1;
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String SCHEMA_HISTORY_TABLE = "flyway_schema_history";
+
+    private DatabaseSnapshot() {
+    }
+
+    /**
+     * Writes every table of the {@code PUBLIC} schema. Callers should run this inside a
+     * repeatable-read transaction so all tables come from one consistent point in time.
+     *
+     * @return the number of rows written
+     */
+    static long write(Connection connection, DataOutputStream out) throws SQLException, IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        long rows = 0;
+        for (String table : tables(connection)) {
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(
+                         "SELECT " + String.join(", ", storedColumns(connection, table)) + " FROM \"" + table + "\"")) {
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                int columns = metaData.getColumnCount();
+                int[] types = new int[columns];
+                out.writeUTF(table);
+                out.writeInt(columns);
+                for (int i = 0; i < columns; i++) {
+                    types[i] = metaData.getColumnType(i + 1);
+                    out.writeUTF(metaData.getColumnName(i + 1));
+                    out.writeInt(types[i]);
+                }
+                while (resultSet.next()) {
+                    out.writeByte(1);
+                    for (int i = 0; i < columns; i++) {
+                        writeValue(out, types[i], resultSet, i + 1);
+                    }
+                    rows++;
+                }
+                out.writeByte(0);
+            }
+        }
+        out.writeUTF("");
+        return rows;
+    }
+
+    /**
+     * Loads a snapshot into existing, empty tables and moves identity columns past the
+     * restored keys. Commits after every batch: one huge transaction makes H2's undo log the
+     * bottleneck, and a half-restored in-memory database is discarded anyway when the failed
+     * restore aborts startup.
+     *
+     * @return the number of rows loaded
+     */
+    static long read(Connection connection, DataInputStream in) throws SQLException, IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Not a database snapshot, or written by an incompatible version");
+        }
+        long rows = 0;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        }
+        try {
+            for (String table = in.readUTF(); !table.isEmpty(); table = in.readUTF()) {
+                int columns = in.readInt();
+                int[] types = new int[columns];
+                List<String> names = new ArrayList<>(columns);
+                for (int i = 0; i < columns; i++) {
+                    names.add("\"" + in.readUTF() + "\"");
+                    types[i] = in.readInt();
+                }
+                String sql = "INSERT INTO \"" + table + "\" (" + String.join(", ", names) + ") VALUES ("
+                        + String.join(", ", Collections.nCopies(columns, "?")) + ")";
+                try (PreparedStatement insert = connection.prepareStatement(sql)) {
+                    int pending = 0;
+                    while (in.readByte() == 1) {
+                        for (int i = 0; i < columns; i++) {
+                            readValue(in, types[i], insert, i + 1);
+                        }
+                        insert.addBatch();
+                        rows++;
+                        if (++pending == BATCH_SIZE) {
+                            insert.executeBatch();
+                            connection.commit();
+                            pending = 0;
+                        }
+                    }
+                    if (pending > 0) {
+                        insert.executeBatch();
+                    }
+                }
+                restartIdentities(connection, table);
+            }
+        } finally {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET REFERENTIAL_INTEGRITY TRUE");
+            }
+        }
+        return rows;
+    }
+
+    private static List<String> tables(Connection connection) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES "
+                     + "WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_TYPE = 'BASE TABLE' ORDER BY TABLE_NAME")) {
+            while (resultSet.next()) {
+                String table = resultSet.getString(1);
+                if (!table.equalsIgnoreCase(SCHEMA_HISTORY_TABLE)) {
+                    tables.add(table);
+                }
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * @return the table's quoted column names, without generated columns: they are recomputed
+     *         on insert and cannot be written
+     */
+    private static List<String> storedColumns(Connection connection, String table) throws SQLException {
+        List<String> columns = new ArrayList<>();
+        try (PreparedStatement query = connection.prepareStatement("SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_NAME = ? AND IS_GENERATED = 'NEVER' ORDER BY ORDINAL_POSITION")) {
+            query.setString(1, table);
+            try (ResultSet resultSet = query.executeQuery()) {
+                while (resultSet.next()) {
+                    columns.add("\"" + resultSet.getString(1) + "\"");
+                }
+            }
+        }
+        return columns;
+    }
+
+    private static void restartIdentities(Connection connection, String table) throws SQLException {
+        List<String> identityColumns = new ArrayList<>();
+        try (PreparedStatement query = connection.prepareStatement("SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_NAME = ? AND IS_IDENTITY = 'YES'")) {
+            query.setString(1, table);
+            try (ResultSet resultSet = query.executeQuery()) {
+                while (resultSet.next()) {
+                    identityColumns.add(resultSet.getString(1));
+                }
+            }
+        }
+        for (String column : identityColumns) {
+            long next;
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(
+                         "SELECT COALESCE(MAX(\"" + column + "\"), 0) + 1 FROM \"" + table + "\"")) {
+                resultSet.next();
+                next = resultSet.getLong(1);
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ALTER TABLE \"" + table + "\" ALTER COLUMN \"" + column + "\" RESTART WITH " + next);
+            }
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, int type, ResultSet resultSet, int index)
+            throws SQLException, IOException {
+        switch (type) {
+            case Types.BIGINT, Types.INTEGER, Types.SMALLINT, Types.TINYINT -> {
+                long value = resultSet.getLong(index);
+                if (writeNull(out, resultSet.wasNull())) {
+                    out.writeLong(value);
+                }
+            }
+            case Types.BOOLEAN, Types.BIT -> {
+                boolean value = resultSet.getBoolean(index);
+                if (writeNull(out, resultSet.wasNull())) {
+                    out.writeBoolean(value);
+                }
+            }
+            case Types.DOUBLE, Types.FLOAT, Types.REAL -> {
+                double value = resultSet.getDouble(index);
+                if (writeNull(out, resultSet.wasNull())) {
+                    out.writeDouble(value);
+                }
+            }
+            case Types.NUMERIC, Types.DECIMAL -> {
+                BigDecimal value = resultSet.getBigDecimal(index);
+                if (writeNull(out, value == null)) {
+                    byte[] unscaled = value.unscaledValue().toByteArray();
+                    out.writeInt(value.scale());
+                    out.writeShort(unscaled.length);
+                    out.write(unscaled);
+                }
+            }
+            case Types.DATE -> {
+                Date value = resultSet.getDate(index);
+                if (writeNull(out, value == null)) {
+                    out.writeLong(value.toLocalDate().toEpochDay());
+                }
+            }
+            case Types.TIMESTAMP -> {
+                Timestamp value = resultSet.getTimestamp(index);
+                if (writeNull(out, value == null)) {
+                    out.writeLong(value.getTime());
+                    out.writeInt(value.getNanos());
+                }
+            }
+            case Types.TIMESTAMP_WITH_TIMEZONE -> {
+                OffsetDateTime value = resultSet.getObject(index, OffsetDateTime.class);
+                if (writeNull(out, value == null)) {
+                    out.writeLong(value.toEpochSecond());
+                    out.writeInt(value.getNano());
+                    out.writeInt(value.getOffset().getTotalSeconds());
+                }
+            }
+            case Types.TIME -> {
+                LocalTime value = resultSet.getObject(index, LocalTime.class);
+                if (writeNull(out, value == null)) {
+                    out.writeLong(value.toNanoOfDay());
+                }
+            }
+            case Types.TIME_WITH_TIMEZONE -> {
+                OffsetTime value = resultSet.getObject(index, OffsetTime.class);
+                if (writeNull(out, value == null)) {
+                    out.writeLong(value.toLocalTime().toNanoOfDay());
+                    out.writeInt(value.getOffset().getTotalSeconds());
+                }
+            }
+            case Types.VARCHAR, Types.CHAR, Types.LONGVARCHAR, Types.CLOB -> {
+                String value = resultSet.getString(index);
+                if (writeNull(out, value == null)) {
+                    writeString(out, value);
+                }
+            }
+            case Types.VARBINARY, Types.BINARY, Types.LONGVARBINARY, Types.BLOB -> {
+                byte[] value = resultSet.getBytes(index);
+                if (writeNull(out, value == null)) {
+                    out.writeInt(value.length);
+                    out.write(value);
+                }
+            }
+            default -> throw new SQLException("Unsupported column type " + type + " in database snapshot");
+        }
+    }
+
+    private static void readValue(DataInputStream in, int type, PreparedStatement insert, int index)
+            throws SQLException, IOException {
+        if (!in.readBoolean()) {
+            insert.setNull(index, type);
+            return;
+        }
+        switch (type) {
+            case Types.BIGINT, Types.INTEGER, Types.SMALLINT, Types.TINYINT -> insert.setLong(index, in.readLong());
+            case Types.BOOLEAN, Types.BIT -> insert.setBoolean(index, in.readBoolean());
+            case Types.DOUBLE, Types.FLOAT, Types.REAL -> insert.setDouble(index, in.readDouble());
+            case Types.NUMERIC, Types.DECIMAL -> {
+                int scale = in.readInt();
+                byte[] unscaled = new byte[in.readUnsignedShort()];
+                in.readFully(unscaled);
+                insert.setBigDecimal(index, new BigDecimal(new BigInteger(unscaled), scale));
+            }
+            case Types.DATE -> insert.setDate(index, Date.valueOf(LocalDate.ofEpochDay(in.readLong())));
+            case Types.TIMESTAMP -> {
+                Timestamp value = new Timestamp(in.readLong());
+                value.setNanos(in.readInt());
+                insert.setTimestamp(index, value);
+            }
+            case Types.TIMESTAMP_WITH_TIMEZONE -> {
+                Instant instant = Instant.ofEpochSecond(in.readLong(), in.readInt());
+                insert.setObject(index, OffsetDateTime.ofInstant(instant, ZoneOffset.ofTotalSeconds(in.readInt())));
+            }
+            case Types.TIME -> insert.setObject(index, LocalTime.ofNanoOfDay(in.readLong()));
+            case Types.TIME_WITH_TIMEZONE -> {
+                LocalTime time = LocalTime.ofNanoOfDay(in.readLong());
+                insert.setObject(index, OffsetTime.of(time, ZoneOffset.ofTotalSeconds(in.readInt())));
+            }
+            case Types.VARCHAR, Types.CHAR, Types.LONGVARCHAR, Types.CLOB -> insert.setString(index, readString(in));
+            case Types.VARBINARY, Types.BINARY, Types.LONGVARBINARY, Types.BLOB -> {
+                byte[] value = new byte[in.readInt()];
+                in.readFully(value);
+                insert.setBytes(index, value);
+            }
+            default -> throw new SQLException("Unsupported column type " + type + " in database snapshot");
+        }
+    }
+
+    /**
+     * Writes the null flag ({@code false} for SQL NULL) and returns whether a value follows.
+     */
+    private static boolean writeNull(DataOutputStream out, boolean isNull) throws IOException {
+        out.writeBoolean(!isNull);
+        return !isNull;
+    }
+
+    // writeUTF is limited to 64KB, which large text columns can exceed
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
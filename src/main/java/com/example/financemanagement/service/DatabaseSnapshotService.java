@@ -0,0 +1,210 @@
+package com.example.financemanagement.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Persists the in-memory H2 database to a compressed snapshot file and restores it on startup.
+ *
+ * <p>The snapshot is a deflate-compressed binary dump of every table's rows (see
+ * {@link DatabaseSnapshot}), read in one repeatable-read transaction. Restoring streams it into
+ * batched inserts, so a restart with millions of transactions takes seconds rather than a
+ * replay of client writes. It is written:
+ * <ul>
+ *   <li>on a fixed schedule ({@code app.snapshot.interval}), bounding what a crash can lose</li>
+ *   <li>on graceful shutdown, after the web server has drained in-flight requests</li>
+ * </ul>
+ *
+ * <p>The restore runs as a {@link SmartLifecycle} start in an early phase, i.e. after the
+ * schema has been generated but before the web server starts, application runners run and
+ * the readiness probe reports {@code ACCEPTING_TRAFFIC}. It expects the schema of the version
+ * that wrote the snapshot. Files are written to a temporary sibling and moved into place, so
+ * a crash mid-dump never corrupts the last good snapshot.
+ *
+ * <p>Only meaningful for {@code jdbc:h2:mem} URLs; file-backed databases are already durable
+ * and the service stays idle for them.
+ *
+ * <p>{@code app.snapshot.enabled} is read when the service starts rather than used as a bean
+ * condition, so it can still be switched in an AOT-processed build.
+ */
+@Component
+public class DatabaseSnapshotService implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseSnapshotService.class);
+
+    /**
+     * Starts before and stops after the web server. Boot starts the web server in
+     * {@code DEFAULT_PHASE - 2048} and drains it for graceful shutdown in
+     * {@code DEFAULT_PHASE - 1024}; sharing either phase would leave the order to bean
+     * registration, so requests could reach the database before the restore or after the
+     * final snapshot.
+     */
+    static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final DataSource dataSource;
+    private final Path snapshotFile;
+    private final boolean enabled;
+    private final boolean inMemory;
+    private volatile boolean running;
+
+    /**
+     * Constructs a new DatabaseSnapshotService.
+     *
+     * @param dataSource the in-memory database to snapshot
+     * @param enabled whether to snapshot and restore at all
+     * @param snapshotFile where the compressed snapshot is kept
+     * @param datasourceUrl the configured JDBC URL, used to detect an in-memory database
+     */
+    @Autowired
+    public DatabaseSnapshotService(DataSource dataSource,
+                                   @Value("${app.snapshot.enabled:false}") boolean enabled,
+                                   @Value("${app.snapshot.file:./data/financedb.snapshot}") Path snapshotFile,
+                                   @Value("${spring.datasource.url:}") String datasourceUrl) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.snapshotFile = snapshotFile.toAbsolutePath();
+        this.inMemory = datasourceUrl.startsWith("jdbc:h2:mem:");
+    }
+
+    /**
+     * Constructs an enabled DatabaseSnapshotService.
+     *
+     * @param dataSource the in-memory database to snapshot
+     * @param snapshotFile where the compressed snapshot is kept
+     * @param datasourceUrl the configured JDBC URL, used to detect an in-memory database
+     */
+    public DatabaseSnapshotService(DataSource dataSource, Path snapshotFile, String datasourceUrl) {
+        this(dataSource, true, snapshotFile, datasourceUrl);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            logger.debug("Database snapshots are disabled");
+        } else if (!inMemory) {
+            logger.warn("Database snapshots are enabled but the datasource is not in-memory H2; skipping");
+        } else if (Files.isRegularFile(snapshotFile)) {
+            restore();
+        } else {
+            logger.info("No database snapshot at {}, starting empty", snapshotFile);
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        if (running && enabled && inMemory) {
+            snapshot();
+        }
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * Writes a snapshot on the configured interval.
+     */
+    @Scheduled(fixedDelayString = "${app.snapshot.interval:PT15M}",
+               initialDelayString = "${app.snapshot.interval:PT15M}")
+    public void scheduledSnapshot() {
+        if (running && enabled && inMemory) {
+            snapshot();
+        }
+    }
+
+    /**
+     * Dumps the whole database to the snapshot file, replacing the previous snapshot atomically.
+     */
+    public synchronized void snapshot() {
+        long started = System.nanoTime();
+        Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (Connection connection = dataSource.getConnection()) {
+            Files.createDirectories(snapshotFile.getParent());
+            boolean autoCommit = connection.getAutoCommit();
+            int isolation = connection.getTransactionIsolation();
+            connection.setAutoCommit(false);
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            long rows;
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new DeflaterOutputStream(Files.newOutputStream(temp), deflater, BUFFER_SIZE), BUFFER_SIZE))) {
+                rows = DatabaseSnapshot.write(connection, out);
+            } finally {
+                connection.rollback();
+                connection.setTransactionIsolation(isolation);
+                connection.setAutoCommit(autoCommit);
+            }
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Wrote database snapshot {} ({} rows, {} bytes) in {} ms",
+                    snapshotFile, rows, Files.size(snapshotFile), (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write database snapshot " + snapshotFile, ex);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not read database for snapshot", ex);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Loads the snapshot file into the (empty) database. A failure aborts startup rather than
+     * letting an empty database overwrite the snapshot at the next dump.
+     */
+    public synchronized void restore() {
+        long started = System.nanoTime();
+        Inflater inflater = new Inflater();
+        try (Connection connection = dataSource.getConnection();
+             DataInputStream in = new DataInputStream(new BufferedInputStream(
+                     new InflaterInputStream(Files.newInputStream(snapshotFile), inflater, BUFFER_SIZE), BUFFER_SIZE))) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                long rows = DatabaseSnapshot.read(connection, in);
+                connection.commit();
+                logger.info("Restored database snapshot {} ({} rows) in {} ms",
+                        snapshotFile, rows, (System.nanoTime() - started) / 1_000_000);
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read database snapshot " + snapshotFile, ex);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not restore database snapshot " + snapshotFile, ex);
+        } finally {
+            inflater.end();
+        }
+    }
+
+}
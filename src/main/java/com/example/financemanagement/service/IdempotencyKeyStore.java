@@ -0,0 +1,200 @@
+package com.example.financemanagement.service;
+
+import com.example.financemanagement.dto.TransactionResponse;
+import com.example.financemanagement.exception.BadRequestException;
+import com.example.financemanagement.exception.ResourceConflictException;
+import com.example.financemanagement.repository.IdempotencyKeyRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-user {@code Idempotency-Key} store for transaction creation, used by
+ * {@link TransactionService}.
+ *
+ * <p>Keys this node has seen are held in memory with the response they produced, bounded by
+ * {@code app.idempotency.maxEntries} and expiring after {@code app.idempotency.ttl}; a retry
+ * that lands here is answered without touching the database. Every key is also written to the
+ * {@code idempotency_keys} table in the same database transaction as the row it created. The
+ * insert is conditional, so a retry that reaches a node which has not seen the key finds it
+ * already claimed and is pointed at the original transaction. A first request therefore costs one
+ * conditional insert on top of the transaction insert, and no extra read.
+ *
+ * <p>Expired keys are purged from memory and from the table on {@code app.idempotency.purgeInterval}.
+ *
+ * @author Finance Management Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class IdempotencyKeyStore {
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final IdempotencyKeyRepository repository;
+    private final int maxEntries;
+    private final Duration ttl;
+    private final LongSupplier clock;
+    private final Clock wallClock;
+
+    /**
+     * Constructs a new IdempotencyKeyStore with the configured bounds.
+     *
+     * @param repository the table shared by all nodes
+     * @param maxEntries maximum number of keys remembered in memory
+     * @param ttl time after which a key may be reused
+     */
+    @Autowired
+    public IdempotencyKeyStore(IdempotencyKeyRepository repository,
+                               @Value("${app.idempotency.maxEntries:100000}") int maxEntries,
+                               @Value("${app.idempotency.ttl:24h}") Duration ttl) {
+        this(repository, maxEntries, ttl, System::nanoTime, Clock.systemUTC());
+    }
+
+    IdempotencyKeyStore(IdempotencyKeyRepository repository, int maxEntries, Duration ttl,
+                        LongSupplier clock, Clock wallClock) {
+        this.repository = repository;
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.wallClock = wallClock;
+    }
+
+    /**
+     * Checks that a client-supplied key can be stored.
+     *
+     * @param key the {@code Idempotency-Key} header value
+     * @throws BadRequestException if the key is blank or too long
+     */
+    public void validate(String key) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    /**
+     * Returns the response remembered for a key on this node. Never queries the database.
+     *
+     * @param userId the owner of the key
+     * @param key the {@code Idempotency-Key} header value
+     * @return the original response, or {@code null} if this node has not seen the key
+     */
+    public TransactionResponse find(Long userId, String key) {
+        Key id = new Key(userId, key);
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (clock.getAsLong() - entry.expiresAt() > 0) {
+            entries.remove(id, entry);
+            return null;
+        }
+        return entry.response();
+    }
+
+    /**
+     * Claims a key for a transaction inserted in the current database transaction.
+     *
+     * @param userId the owner of the key
+     * @param key the {@code Idempotency-Key} header value
+     * @param transactionId the id of the transaction just inserted
+     * @return {@code null} if the key was claimed, otherwise the id of the transaction another
+     *         request already created with it
+     * @throws ResourceConflictException if a concurrent request is claiming the same key
+     */
+    public Long claim(Long userId, String key, Long transactionId) {
+        int inserted;
+        try {
+            inserted = repository.insertIfAbsent(userId, key, transactionId, wallClock.instant());
+        } catch (DataIntegrityViolationException ex) {
+            throw new ResourceConflictException("A request with this Idempotency-Key is already in progress");
+        }
+        if (inserted == 1) {
+            return null;
+        }
+        return repository.findTransactionId(userId, key)
+                .orElseThrow(() -> new ResourceConflictException(
+                        "A request with this Idempotency-Key is already in progress"));
+    }
+
+    /**
+     * Remembers the response for a key once the surrounding database transaction commits, so
+     * a rolled-back insert is never replayed. Without an active transaction it is remembered
+     * at once.
+     *
+     * @param userId the owner of the key
+     * @param key the {@code Idempotency-Key} header value
+     * @param response the response to return to retries
+     */
+    public void remember(Long userId, String key, TransactionResponse response) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            put(new Key(userId, key), response);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                put(new Key(userId, key), response);
+            }
+        });
+    }
+
+    /**
+     * Forgets keys older than the time-to-live, in memory and in the shared table.
+     */
+    @Scheduled(fixedDelayString = "${app.idempotency.purgeInterval:PT10M}",
+               initialDelayString = "${app.idempotency.purgeInterval:PT10M}")
+    @Transactional
+    public void purgeExpired() {
+        long now = clock.getAsLong();
+        entries.values().removeIf(entry -> now - entry.expiresAt() > 0);
+        repository.deleteCreatedBefore(wallClock.instant().minus(ttl));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void put(Key id, TransactionResponse response) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        if (entries.size() >= maxEntries && !entries.containsKey(id)) {
+            evict();
+        }
+        entries.put(id, new Entry(response, clock.getAsLong() + ttl.toNanos()));
+    }
+
+    /**
+     * Drops expired entries and, if the store is still full, an arbitrary live entry. An
+     * evicted key is still found through the table, at the cost of a rolled-back insert.
+     */
+    private void evict() {
+        long now = clock.getAsLong();
+        entries.values().removeIf(entry -> now - entry.expiresAt() > 0);
+        Iterator<Key> keys = entries.keySet().iterator();
+        while (entries.size() >= maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record Key(Long userId, String key) {
+    }
+
+    private record Entry(TransactionResponse response, long expiresAt) {
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.financemanagement.service;
+
+import com.example.financemanagement.diagnostics.PasswordHashEvent;
+import com.example.financemanagement.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Service guarding the login endpoint against credential-stuffing bursts.
+ *
+ * <p>Every BCrypt verification costs roughly 100ms of CPU, so this service applies two
+ * independent token-bucket limits (one keyed by username, one by client address) before
+ * any password is checked, and runs the verification itself on the dedicated, bounded
+ * {@code passwordHashingExecutor} so that login load cannot occupy the servlet request pool.
+ *
+ * <p>Rejected attempts are exposed through the {@code auth.login.rejected} counter,
+ * tagged with the reason ({@code username}, {@code client}, {@code hashing_saturated}),
+ * and every verification is recorded as a {@link PasswordHashEvent} for the flight recorder.
+ *
+ * @author Finance Management Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Service
+public class LoginThrottleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginThrottleService.class);
+
+    private final TokenBucketStripes usernameBuckets;
+    private final TokenBucketStripes clientBuckets;
+    private final ThreadPoolTaskExecutor passwordHashingExecutor;
+    private final Duration hashingTimeout;
+    private final Counter usernameRejections;
+    private final Counter clientRejections;
+    private final Counter saturationRejections;
+
+    /**
+     * Constructs a new LoginThrottleService with the configured limits.
+     *
+     * @param passwordHashingExecutor the bounded executor used for password verification
+     * @param meterRegistry the registry used to publish rejection counters
+     * @param stripes number of buckets per key space
+     * @param usernameCapacity burst size allowed per username
+     * @param usernameRefill time to refill one username token
+     * @param clientCapacity burst size allowed per client address
+     * @param clientRefill time to refill one client token
+     * @param hashingTimeout maximum time a login waits for a hashing thread
+     */
+    @Autowired
+    public LoginThrottleService(@Qualifier("passwordHashingExecutor") ThreadPoolTaskExecutor passwordHashingExecutor,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.loginThrottle.stripes:4096}") int stripes,
+                                @Value("${app.loginThrottle.usernameCapacity:5}") int usernameCapacity,
+                                @Value("${app.loginThrottle.usernameRefill:12s}") Duration usernameRefill,
+                                @Value("${app.loginThrottle.clientCapacity:20}") int clientCapacity,
+                                @Value("${app.loginThrottle.clientRefill:3s}") Duration clientRefill,
+                                @Value("${app.loginThrottle.hashingTimeout:5s}") Duration hashingTimeout) {
+        this.usernameBuckets = new TokenBucketStripes(stripes, usernameCapacity, usernameRefill.toNanos(), System::nanoTime);
+        this.clientBuckets = new TokenBucketStripes(stripes, clientCapacity, clientRefill.toNanos(), System::nanoTime);
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.hashingTimeout = hashingTimeout;
+        this.usernameRejections = rejectionCounter(meterRegistry, "username");
+        this.clientRejections = rejectionCounter(meterRegistry, "client");
+        this.saturationRejections = rejectionCounter(meterRegistry, "hashing_saturated");
+    }
+
+    /**
+     * Consumes one token from both the username and the client bucket.
+     *
+     * <p>The client bucket is checked first so that an address spraying many usernames
+     * cannot drain the buckets of the accounts it targets.
+     *
+     * @param username the username being authenticated
+     * @param clientAddress the remote address of the caller
+     * @throws TooManyRequestsException if either bucket is empty
+     */
+    public void checkAttempt(String username, String clientAddress) {
+        if (!clientBuckets.tryAcquire(clientAddress == null ? "" : clientAddress)) {
+            clientRejections.increment();
+            throw new TooManyRequestsException("Too many login attempts. Please try again later.");
+        }
+        String key = username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+        if (!usernameBuckets.tryAcquire(key)) {
+            usernameRejections.increment();
+            throw new TooManyRequestsException("Too many login attempts. Please try again later.");
+        }
+    }
+
+    /**
+     * Authenticates the given token on the password hashing executor.
+     *
+     * @param authenticationManager the manager performing the credential check
+     * @param token the unauthenticated credentials
+     * @return the authenticated principal
+     * @throws AuthenticationException if the credentials are rejected
+     * @throws TooManyRequestsException if no hashing capacity is available in time
+     */
+    public Authentication authenticate(AuthenticationManager authenticationManager, Authentication token) {
+        Future<Authentication> result;
+        try {
+            long submitted = System.nanoTime();
+            result = passwordHashingExecutor.submit(() -> verify(authenticationManager, token, submitted));
+        } catch (TaskRejectedException ex) {
+            saturationRejections.increment();
+            throw new TooManyRequestsException("Login service is busy. Please try again later.");
+        }
+
+        try {
+            return result.get(hashingTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Authentication failed", ex.getCause());
+        } catch (TimeoutException ex) {
+            result.cancel(true);
+            saturationRejections.increment();
+            logger.warn("Password verification did not complete within {}", hashingTimeout);
+            throw new TooManyRequestsException("Login service is busy. Please try again later.");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            throw new IllegalStateException("Interrupted while waiting for authentication", ex);
+        }
+    }
+
+    private static Authentication verify(AuthenticationManager authenticationManager, Authentication token,
+                                         long submitted) {
+        long queueWait = System.nanoTime() - submitted;
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        boolean succeeded = false;
+        try {
+            Authentication authentication = authenticationManager.authenticate(token);
+            succeeded = true;
+            return authentication;
+        } finally {
+            if (event.shouldCommit()) {
+                event.queueWait = queueWait;
+                event.succeeded = succeeded;
+                event.commit();
+            }
+        }
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("auth.login.rejected")
+                .description("Login attempts rejected before or during password verification")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.financemanagement.service;
+
+import java.util.Arrays;
+
+/**
+ * Sorted set of transaction ids for one search term, stored compressed.
+ *
+ * <p>Ids are kept in ascending order as variable-length encoded gaps, so the dense, mostly
+ * increasing ids of one user's transactions take one or two bytes each instead of the eight
+ * of a {@code long} (or the ~40 of a boxed {@code Long} in a set). New transactions get the
+ * highest id so far and are appended in place; any other change re-encodes the list.
+ *
+ * <p>Not thread-safe; {@link TransactionSearchIndex} guards each user's lists with a lock.
+ */
+final class PostingList {
+
+    private static final long[] EMPTY = new long[0];
+
+    private byte[] bytes = new byte[8];
+    private int length;
+    private int size;
+    private long last;
+
+    int size() {
+        return size;
+    }
+
+    void add(long id) {
+        if (size == 0 || id > last) {
+            append(id - (size == 0 ? 0 : last));
+            last = id;
+            size++;
+            return;
+        }
+        long[] ids = toArray();
+        int index = Arrays.binarySearch(ids, id);
+        if (index >= 0) {
+            return;
+        }
+        int insertAt = -index - 1;
+        long[] grown = new long[ids.length + 1];
+        System.arraycopy(ids, 0, grown, 0, insertAt);
+        grown[insertAt] = id;
+        System.arraycopy(ids, insertAt, grown, insertAt + 1, ids.length - insertAt);
+        encode(grown);
+    }
+
+    void remove(long id) {
+        if (size == 0 || id > last) {
+            return;
+        }
+        long[] ids = toArray();
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            return;
+        }
+        long[] shrunk = new long[ids.length - 1];
+        System.arraycopy(ids, 0, shrunk, 0, index);
+        System.arraycopy(ids, index + 1, shrunk, index, ids.length - index - 1);
+        encode(shrunk);
+    }
+
+    /**
+     * @return the ids in ascending order
+     */
+    long[] toArray() {
+        if (size == 0) {
+            return EMPTY;
+        }
+        long[] ids = new long[size];
+        long previous = 0;
+        int position = 0;
+        for (int i = 0; i < size; i++) {
+            long gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                gap |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            previous += gap;
+            ids[i] = previous;
+        }
+        return ids;
+    }
+
+    private void encode(long[] ids) {
+        length = 0;
+        size = 0;
+        long previous = 0;
+        for (long id : ids) {
+            append(id - previous);
+            previous = id;
+            size++;
+        }
+        last = previous;
+        if (bytes.length > 2 * Math.max(8, length)) {
+            bytes = Arrays.copyOf(bytes, Math.max(8, length));
+        }
+    }
+
+    private void append(long gap) {
+        if (length + 10 > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 10));
+        }
+        while ((gap & ~0x7FL) != 0) {
+            bytes[length++] = (byte) ((gap & 0x7F) | 0x80);
+            gap >>>= 7;
+        }
+        bytes[length++] = (byte) gap;
+    }
+}
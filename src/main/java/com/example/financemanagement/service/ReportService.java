@@ -1,12 +1,20 @@
 package com.example.financemanagement.service;
 
+import com.example.financemanagement.diagnostics.ReportGenerationEvent;
+import com.example.financemanagement.dto.CategoryRollupReport;
 import com.example.financemanagement.dto.MonthlyReport;
 import com.example.financemanagement.dto.YearlyReport;
 import com.example.financemanagement.entity.CategoryType;
 import com.example.financemanagement.entity.Transaction;
 import com.example.financemanagement.entity.User;
+import com.example.financemanagement.exception.BadRequestException;
+import com.example.financemanagement.repository.CategoryClosureRepository;
+import com.example.financemanagement.repository.CategoryClosureRepository.CategoryNode;
+import com.example.financemanagement.repository.CategoryClosureRepository.CategoryTotal;
 import com.example.financemanagement.repository.TransactionRepository;
 import com.example.financemanagement.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -17,14 +25,25 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Service for generating financial reports.
+ *
+ * <p>The number of transaction rows each report aggregates is counted in
+ * {@code report.transactions.scanned}, tagged with the report period, and each report is
+ * recorded as a {@link ReportGenerationEvent} for the flight recorder.
  */
 @Service
+@Timed(value = "service.operation", description = "Service method latency, tagged by class and method")
 public class ReportService {
 
     @Autowired
@@ -33,6 +52,12 @@ public class ReportService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CategoryClosureRepository categoryClosureRepository;
+
     /**
      * Generates a monthly financial report for the current user.
      * @param year The year of the report.
@@ -41,12 +66,15 @@ public class ReportService {
      */
     @Transactional(readOnly = true)
     public MonthlyReport generateMonthlyReport(int year, int month) {
+        ReportGenerationEvent event = new ReportGenerationEvent();
+        event.begin();
         User user = getCurrentUser();
         YearMonth yearMonth = YearMonth.of(year, month);
         LocalDate startDate = yearMonth.atDay(1);
         LocalDate endDate = yearMonth.atEndOfMonth();
 
         List<Transaction> transactions = transactionRepository.findByUserIdAndDateRange(user.getId(), startDate, endDate);
+        recordScanned("monthly", transactions);
 
         Map<String, BigDecimal> incomeByCategory = calculateTotalsByCategory(transactions, CategoryType.INCOME);
         Map<String, BigDecimal> expensesByCategory = calculateTotalsByCategory(transactions, CategoryType.EXPENSE);
@@ -58,7 +86,9 @@ public class ReportService {
                 ? BigDecimal.ZERO
                 : netSavingsRaw.setScale(2, RoundingMode.HALF_UP);
 
-        return new MonthlyReport(month, year, incomeByCategory, expensesByCategory, netSavings);
+        MonthlyReport report = new MonthlyReport(month, year, incomeByCategory, expensesByCategory, netSavings);
+        commit(event, user, "monthly", transactions);
+        return report;
     }
 
     /**
@@ -68,11 +98,14 @@ public class ReportService {
      */
     @Transactional(readOnly = true)
     public YearlyReport generateYearlyReport(int year) {
+        ReportGenerationEvent event = new ReportGenerationEvent();
+        event.begin();
         User user = getCurrentUser();
         LocalDate startDate = LocalDate.of(year, 1, 1);
         LocalDate endDate = LocalDate.of(year, 12, 31);
 
         List<Transaction> transactions = transactionRepository.findByUserIdAndDateRange(user.getId(), startDate, endDate);
+        recordScanned("yearly", transactions);
 
         Map<String, BigDecimal> incomeByCategory = calculateTotalsByCategory(transactions, CategoryType.INCOME);
         Map<String, BigDecimal> expensesByCategory = calculateTotalsByCategory(transactions, CategoryType.EXPENSE);
@@ -84,14 +117,99 @@ public class ReportService {
                 ? BigDecimal.ZERO
                 : netSavingsRaw.setScale(2, RoundingMode.HALF_UP);
 
-        return new YearlyReport(year, incomeByCategory, expensesByCategory, netSavings);
+        YearlyReport report = new YearlyReport(year, incomeByCategory, expensesByCategory, netSavings);
+        commit(event, user, "yearly", transactions);
+        return report;
+    }
+
+    /**
+     * Generates category totals for the current user over a date range, rolled up the
+     * category hierarchy. Totals for every category and all of its ancestors come from one
+     * aggregate query over the closure table; no transaction rows are loaded.
+     * @param startDate The first day of the range.
+     * @param endDate The last day of the range.
+     * @param maxDepth The deepest level to list, 0 for top-level categories only, or null for all.
+     * @return The rolled-up totals, split into income and expenses.
+     * @throws BadRequestException if the range is reversed or the depth is negative.
+     */
+    @Transactional(readOnly = true)
+    public CategoryRollupReport generateCategoryRollup(LocalDate startDate, LocalDate endDate, Integer maxDepth) {
+        if (endDate.isBefore(startDate)) {
+            throw new BadRequestException("End date must not be before start date");
+        }
+        if (maxDepth != null && maxDepth < 0) {
+            throw new BadRequestException("Depth must not be negative");
+        }
+        User user = getCurrentUser();
+        Map<Long, CategoryTotal> totals = categoryClosureRepository
+                .sumByCategoryAndAncestors(user.getId(), startDate, endDate).stream()
+                .collect(Collectors.toMap(CategoryTotal::getCategoryId, Function.identity()));
+        List<CategoryNode> nodes = totals.isEmpty() ? List.of() : categoryClosureRepository.findNodes(totals.keySet());
+
+        List<CategoryRollupReport.Node> income = new ArrayList<>();
+        List<CategoryRollupReport.Node> expenses = new ArrayList<>();
+        for (CategoryNode node : depthFirst(nodes)) {
+            int depth = node.getDepth() == null ? 0 : node.getDepth();
+            if (maxDepth != null && depth > maxDepth) {
+                continue;
+            }
+            CategoryTotal total = totals.get(node.getCategoryId());
+            CategoryRollupReport.Node entry = new CategoryRollupReport.Node(node.getName(), node.getParent(), depth,
+                    total.getTotal().setScale(2, RoundingMode.HALF_UP),
+                    total.getOwnTotal().setScale(2, RoundingMode.HALF_UP));
+            (node.getType() == CategoryType.INCOME ? income : expenses).add(entry);
+        }
+        return new CategoryRollupReport(startDate, endDate, income, expenses);
+    }
+
+    // Orders nodes parent first, siblings by name; every ancestor of a listed node is listed
+    private static List<CategoryNode> depthFirst(List<CategoryNode> nodes) {
+        Map<String, List<CategoryNode>> children = new HashMap<>();
+        List<CategoryNode> roots = new ArrayList<>();
+        for (CategoryNode node : nodes) {
+            if (node.getParent() == null) {
+                roots.add(node);
+            } else {
+                children.computeIfAbsent(node.getParent(), parent -> new ArrayList<>()).add(node);
+            }
+        }
+        // Pushed in reverse name order so that they pop in name order
+        Comparator<CategoryNode> byNameDescending = Comparator.comparing(CategoryNode::getName).reversed();
+        Deque<CategoryNode> pending = new ArrayDeque<>();
+        roots.sort(byNameDescending);
+        roots.forEach(pending::push);
+        children.values().forEach(siblings -> siblings.sort(byNameDescending));
+        List<CategoryNode> ordered = new ArrayList<>(nodes.size());
+        while (!pending.isEmpty()) {
+            CategoryNode node = pending.pop();
+            ordered.add(node);
+            children.getOrDefault(node.getName(), List.of()).forEach(pending::push);
+        }
+        return ordered;
+    }
+
+    private void recordScanned(String period, List<Transaction> transactions) {
+        if (WarmupTraffic.isCurrentRequest()) {
+            return;
+        }
+        meterRegistry.counter("report.transactions.scanned", "period", period).increment(transactions.size());
+    }
+
+    private static void commit(ReportGenerationEvent event, User user, String period, List<Transaction> transactions) {
+        if (event.shouldCommit()) {
+            event.userId = user.getId();
+            event.period = period;
+            event.rowsAggregated = transactions.size();
+            event.commit();
+        }
     }
 
+    // Groups by the category name stored on each row, so no category proxy is initialized
     private Map<String, BigDecimal> calculateTotalsByCategory(List<Transaction> transactions, CategoryType type) {
         return transactions.stream()
                 .filter(t -> t.getType() == type)
                 .collect(Collectors.groupingBy(
-                        t -> t.getCategory().getName(),
+                        Transaction::getCategoryName,
                         Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add)
                 ));
     }
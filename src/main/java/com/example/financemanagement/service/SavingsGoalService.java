@@ -1,17 +1,23 @@
 package com.example.financemanagement.service;
 
+import com.example.financemanagement.diagnostics.GoalProgressEvent;
+import com.example.financemanagement.dto.MergePatch;
 import com.example.financemanagement.dto.SavingsGoalRequest;
 import com.example.financemanagement.dto.SavingsGoalResponse;
 import com.example.financemanagement.dto.SavingsGoalUpdateRequest;
 import com.example.financemanagement.entity.CategoryType;
 import com.example.financemanagement.entity.SavingsGoal;
+import com.example.financemanagement.entity.SyncEntityType;
 import com.example.financemanagement.entity.User;
 import com.example.financemanagement.exception.BadRequestException;
 import com.example.financemanagement.exception.ForbiddenException;
 import com.example.financemanagement.exception.ResourceNotFoundException;
 import com.example.financemanagement.repository.SavingsGoalRepository;
+import com.example.financemanagement.repository.SavingsGoalRepository.GoalProgress;
 import com.example.financemanagement.repository.TransactionRepository;
 import com.example.financemanagement.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -22,14 +28,22 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Service for managing savings goals.
+ *
+ * <p>Every goal whose progress is computed is counted in {@code savings.goals.evaluated}, and
+ * each progress computation is recorded as a {@link GoalProgressEvent} for the flight recorder.
  */
 @Service
+@Timed(value = "service.operation", description = "Service method latency, tagged by class and method")
 public class SavingsGoalService {
 
+    private static final Set<String> PATCHABLE_FIELDS = Set.of("goalName", "targetAmount", "targetDate");
+
     @Autowired
     private SavingsGoalRepository savingsGoalRepository;
 
@@ -39,6 +53,12 @@ public class SavingsGoalService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ChangeSequence changeSequence;
+
     /**
      * Creates a new savings goal for the current user.
      * @param request DTO containing the goal details.
@@ -61,6 +81,7 @@ public class SavingsGoalService {
                 startDate,
                 user
         );
+        goal.setChangeSeq(changeSequence.next(user.getId()));
         
         SavingsGoal savedGoal = savingsGoalRepository.save(goal);
         return convertToResponse(savedGoal);
@@ -73,9 +94,17 @@ public class SavingsGoalService {
     @Transactional(readOnly = true)
     public List<SavingsGoalResponse> getAllSavingsGoals() {
         User user = getCurrentUser();
-        return savingsGoalRepository.findByUserId(user.getId()).stream()
-                .map(this::convertToResponse)
+        GoalProgressEvent event = new GoalProgressEvent();
+        event.begin();
+        // One aggregate for all goals instead of two sums per goal
+        Map<Long, BigDecimal> progressByGoal = savingsGoalRepository.findProgressByUserId(user.getId(), LocalDate.now())
+                .stream()
+                .collect(Collectors.toMap(GoalProgress::getGoalId, GoalProgress::getProgress));
+        List<SavingsGoalResponse> responses = savingsGoalRepository.findByUserId(user.getId()).stream()
+                .map(goal -> convertToResponse(goal, progressByGoal.getOrDefault(goal.getId(), BigDecimal.ZERO)))
                 .collect(Collectors.toList());
+        commit(event, user, responses.size(), true);
+        return responses;
     }
 
     /**
@@ -86,16 +115,12 @@ public class SavingsGoalService {
     @Transactional(readOnly = true)
     public SavingsGoalResponse getSavingsGoalById(Long id) {
         User user = getCurrentUser();
-        SavingsGoal goal = savingsGoalRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Savings goal not found with id: " + id));
-        if (!goal.getUser().getId().equals(user.getId())) {
-            throw new ForbiddenException("You are not authorized to access this savings goal.");
-        }
+        SavingsGoal goal = findOwnedGoal(id, user, "You are not authorized to access this savings goal.");
         return convertToResponse(goal);
     }
 
     /**
-     * Updates an existing savings goal.
+     * Updates an existing savings goal with a single ownership-checked UPDATE statement.
      * @param id The ID of the goal to update.
      * @param request DTO containing the updated goal details.
      * @return The updated savings goal DTO.
@@ -103,39 +128,101 @@ public class SavingsGoalService {
     @Transactional
     public SavingsGoalResponse updateSavingsGoal(Long id, SavingsGoalUpdateRequest request) {
         User user = getCurrentUser();
-        SavingsGoal goal = savingsGoalRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Savings goal not found with id: " + id));
-
-        if (!goal.getUser().getId().equals(user.getId())) {
-            throw new ForbiddenException("You are not authorized to update this savings goal.");
+        String forbiddenMessage = "You are not authorized to update this savings goal.";
+        if (savingsGoalRepository.updateOwned(id, user.getId(), request.getTargetAmount(), request.getTargetDate(),
+                changeSequence.next(user.getId())) == 0) {
+            throw missingGoal(id, forbiddenMessage);
         }
+        return convertToResponse(findOwnedGoal(id, user, forbiddenMessage));
+    }
 
-        if (request.getTargetAmount() != null) {
-            goal.setTargetAmount(request.getTargetAmount());
+    /**
+     * Applies a JSON Merge Patch to a savings goal. Setters run only for members whose value
+     * changes, so with {@code @DynamicUpdate} the flush writes just those columns and a no-op
+     * patch issues no UPDATE.
+     * @param id The ID of the goal to patch.
+     * @param patch The merge patch document.
+     * @return The patched savings goal DTO.
+     * @throws BadRequestException if the patch names unknown fields or holds invalid values.
+     */
+    @Transactional
+    public SavingsGoalResponse patchSavingsGoal(Long id, MergePatch patch) {
+        User user = getCurrentUser();
+        patch.requireOnly(PATCHABLE_FIELDS);
+        SavingsGoal goal = findOwnedGoal(id, user, "You are not authorized to update this savings goal.");
+        boolean changed = false;
+
+        if (patch.has("goalName")) {
+            String goalName = patch.requiredText("goalName");
+            if (!goalName.equals(goal.getGoalName())) {
+                goal.setGoalName(goalName);
+                changed = true;
+            }
+        }
+        if (patch.has("targetAmount")) {
+            BigDecimal targetAmount = patch.requiredDecimal("targetAmount");
+            if (targetAmount.signum() <= 0) {
+                throw new BadRequestException("Target amount must be positive");
+            }
+            if (targetAmount.compareTo(goal.getTargetAmount()) != 0) {
+                goal.setTargetAmount(targetAmount);
+                changed = true;
+            }
         }
-        if (request.getTargetDate() != null) {
-            goal.setTargetDate(request.getTargetDate());
+        if (patch.has("targetDate")) {
+            LocalDate targetDate = patch.requiredDate("targetDate");
+            if (!targetDate.isAfter(LocalDate.now())) {
+                throw new BadRequestException("Target date must be in the future");
+            }
+            if (!targetDate.equals(goal.getTargetDate())) {
+                goal.setTargetDate(targetDate);
+                changed = true;
+            }
+        }
+        if (changed) {
+            goal.setChangeSeq(changeSequence.next(user.getId()));
         }
 
-        SavingsGoal updatedGoal = savingsGoalRepository.save(goal);
-        return convertToResponse(updatedGoal);
+        return convertToResponse(goal);
     }
 
     /**
-     * Deletes a savings goal by its ID.
+     * Deletes a savings goal by its ID with a single ownership-checked DELETE statement.
      * @param id The ID of the goal to delete.
      */
     @Transactional
     public void deleteSavingsGoal(Long id) {
         User user = getCurrentUser();
-        if (!savingsGoalRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Savings goal not found with id: " + id);
+        if (savingsGoalRepository.deleteByIdAndUserId(id, user.getId()) == 0) {
+            throw missingGoal(id, "You are not authorized to delete this goal.");
         }
-        SavingsGoal goal = savingsGoalRepository.findById(id).get();
-        if(!goal.getUser().getId().equals(user.getId())){
-             throw new ForbiddenException("You are not authorized to delete this goal.");
-        }
-        savingsGoalRepository.deleteById(id);
+        changeSequence.recordDeletion(user.getId(), SyncEntityType.GOAL, id, null);
+    }
+
+    /**
+     * Loads a savings goal with the ownership check pushed into the query. Only when no owned
+     * row matches is a second, id-only existence check run to tell 403 apart from 404.
+     * @param id The ID of the goal.
+     * @param user The current user.
+     * @param forbiddenMessage The message used when the goal belongs to another user.
+     * @return The goal owned by the user.
+     */
+    private SavingsGoal findOwnedGoal(Long id, User user, String forbiddenMessage) {
+        return savingsGoalRepository.findByIdAndUserId(id, user.getId())
+                .orElseThrow(() -> missingGoal(id, forbiddenMessage));
+    }
+
+    /**
+     * Builds the error for an id that matched no owned row: 403 if the goal exists for
+     * another user, 404 otherwise. Only runs on the failure path.
+     * @param id The ID of the goal.
+     * @param forbiddenMessage The message used when the goal belongs to another user.
+     * @return The exception to throw.
+     */
+    private RuntimeException missingGoal(Long id, String forbiddenMessage) {
+        return savingsGoalRepository.existsById(id)
+                ? new ForbiddenException(forbiddenMessage)
+                : new ResourceNotFoundException("Savings goal not found with id: " + id);
     }
 
     /**
@@ -144,7 +231,13 @@ public class SavingsGoalService {
      * @return The corresponding DTO.
      */
     private SavingsGoalResponse convertToResponse(SavingsGoal goal) {
-        BigDecimal currentProgress = calculateProgress(goal);
+        return convertToResponse(goal, calculateProgress(goal));
+    }
+
+    private SavingsGoalResponse convertToResponse(SavingsGoal goal, BigDecimal currentProgress) {
+        if (!WarmupTraffic.isCurrentRequest()) {
+            meterRegistry.counter("savings.goals.evaluated").increment();
+        }
         BigDecimal remainingAmount = goal.getTargetAmount().subtract(currentProgress);
         BigDecimal progressPercentageBd = BigDecimal.ZERO;
         if (goal.getTargetAmount().compareTo(BigDecimal.ZERO) > 0) {
@@ -175,6 +268,8 @@ public class SavingsGoalService {
      * @return The current progress as a BigDecimal.
      */
     private BigDecimal calculateProgress(SavingsGoal goal) {
+        GoalProgressEvent event = new GoalProgressEvent();
+        event.begin();
         BigDecimal totalIncome = transactionRepository.calculateTotalAmountByTypeAndDateRange(
                 goal.getUser().getId(), CategoryType.INCOME, goal.getStartDate(), LocalDate.now());
         BigDecimal totalExpenses = transactionRepository.calculateTotalAmountByTypeAndDateRange(
@@ -183,9 +278,19 @@ public class SavingsGoalService {
         if (totalIncome == null) totalIncome = BigDecimal.ZERO;
         if (totalExpenses == null) totalExpenses = BigDecimal.ZERO;
 
+        commit(event, goal.getUser(), 1, false);
         return totalIncome.subtract(totalExpenses);
     }
 
+    private static void commit(GoalProgressEvent event, User user, int goals, boolean aggregated) {
+        if (event.shouldCommit()) {
+            event.userId = user.getId();
+            event.goals = goals;
+            event.aggregated = aggregated;
+            event.commit();
+        }
+    }
+
     /**
      * Retrieves the currently authenticated user from the security context.
      * @return The User entity.
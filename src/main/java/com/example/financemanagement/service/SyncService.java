@@ -0,0 +1,173 @@
+package com.example.financemanagement.service;
+
+import com.example.financemanagement.dto.CategoryResponse;
+import com.example.financemanagement.dto.SavingsGoalResponse;
+import com.example.financemanagement.dto.SyncResponse;
+import com.example.financemanagement.dto.TransactionResponse;
+import com.example.financemanagement.entity.Category;
+import com.example.financemanagement.entity.SavingsGoal;
+import com.example.financemanagement.entity.SyncEntityType;
+import com.example.financemanagement.entity.User;
+import com.example.financemanagement.exception.BadRequestException;
+import com.example.financemanagement.repository.CategoryRepository;
+import com.example.financemanagement.repository.SavingsGoalRepository;
+import com.example.financemanagement.repository.SyncTombstoneRepository;
+import com.example.financemanagement.repository.TransactionRepository;
+import com.example.financemanagement.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Service behind the incremental change feed used by clients to synchronize.
+ *
+ * <p>Every write to a user's transactions, categories or goals is stamped with the user's
+ * next change sequence number (see {@link ChangeSequence}), and deletions leave tombstones.
+ * A sync reads the user's current sequence number first and then returns exactly the rows
+ * stamped after the client's token and up to that number, so its cost follows the number of
+ * changes rather than the size of the history. The number read becomes the next token.
+ *
+ * <p>Without a token, or with a token from another database, the whole data set is returned
+ * as a full sync, including the shared default categories. Goal progress is derived from
+ * transactions, so whenever transactions change all goals are sent with fresh progress.
+ *
+ * @author Finance Management Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Service
+@Timed(value = "service.operation", description = "Service method latency, tagged by class and method")
+public class SyncService {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SavingsGoalRepository savingsGoalRepository;
+
+    @Autowired
+    private SyncTombstoneRepository syncTombstoneRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChangeSequence changeSequence;
+
+    @Autowired
+    private SavingsGoalService savingsGoalService;
+
+    /**
+     * Returns the current user's changes since a token.
+     * @param since The token returned by the previous sync, or null for a full sync.
+     * @return The changed and deleted rows, and the token for the next sync.
+     * @throws BadRequestException if the token is malformed.
+     */
+    @Transactional(readOnly = true)
+    public SyncResponse sync(String since) {
+        User user = getCurrentUser();
+        long upTo = changeSequence.current(user.getId());
+        Long after = parseToken(since);
+        boolean full = after == null || after > upTo;
+        long from = full ? -1 : after;
+
+        List<TransactionResponse> transactions = transactionRepository.findChanged(user.getId(), from, upTo).stream()
+                .map(transaction -> new TransactionResponse(
+                        transaction.getId(),
+                        transaction.getAmount(),
+                        transaction.getDate(),
+                        transaction.getCategoryName(),
+                        transaction.getDescription(),
+                        transaction.getType(),
+                        new TreeSet<>(transaction.getTags())))
+                .collect(Collectors.toList());
+
+        Map<String, Category> categories = new LinkedHashMap<>();
+        if (full) {
+            for (Category template : categoryRepository.findByUserIsNull()) {
+                categories.put(template.getName(), template);
+            }
+        }
+        for (Category owned : categoryRepository.findChanged(user.getId(), from, upTo)) {
+            categories.put(owned.getName(), owned);
+        }
+
+        List<SyncResponse.Deletion> deleted = full ? List.of()
+                : syncTombstoneRepository.findChanged(user.getId(), from, upTo).stream()
+                        .map(tombstone -> new SyncResponse.Deletion(
+                                tombstone.getEntityType(), tombstone.getEntityId(), tombstone.getEntityName()))
+                        .collect(Collectors.toList());
+
+        boolean transactionsChanged = !transactions.isEmpty()
+                || deleted.stream().anyMatch(deletion -> deletion.getType() == SyncEntityType.TRANSACTION);
+
+        return new SyncResponse(
+                String.valueOf(upTo),
+                full,
+                transactions,
+                categories.values().stream()
+                        .map(category -> new CategoryResponse(category.getName(), category.getType(), category.isCustom(),
+                                category.getParent() == null ? null : category.getParent().getName()))
+                        .collect(Collectors.toList()),
+                changedGoals(user, from, upTo, full || transactionsChanged),
+                deleted);
+    }
+
+    /**
+     * Collects the goals to send. Progress is aggregated over all goals in one query, so the
+     * aggregate only runs when at least one goal is sent.
+     * @param user The current user.
+     * @param from The exclusive lower sequence bound.
+     * @param upTo The inclusive upper sequence bound.
+     * @param all Whether every goal must be sent because its progress may have changed.
+     * @return The goals with current progress.
+     */
+    private List<SavingsGoalResponse> changedGoals(User user, long from, long upTo, boolean all) {
+        if (all) {
+            return savingsGoalService.getAllSavingsGoals();
+        }
+        Set<Long> changed = savingsGoalRepository.findChanged(user.getId(), from, upTo).stream()
+                .map(SavingsGoal::getId)
+                .collect(Collectors.toSet());
+        if (changed.isEmpty()) {
+            return List.of();
+        }
+        return savingsGoalService.getAllSavingsGoals().stream()
+                .filter(goal -> changed.contains(goal.getId()))
+                .collect(Collectors.toList());
+    }
+
+    private static Long parseToken(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            long value = Long.parseLong(token);
+            if (value < 0) {
+                throw new BadRequestException("Invalid sync token: " + token);
+            }
+            return value;
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("Invalid sync token: " + token);
+        }
+    }
+
+    private User getCurrentUser() {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.financemanagement.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Fixed-size, lock-free set of token buckets addressed by key hash.
+ *
+ * <p>Each stripe stores a single "theoretical arrival time" (the GCRA formulation of a
+ * token bucket), so acquiring a token is one compare-and-set on an {@link AtomicLongArray}
+ * slot and memory stays bounded no matter how many distinct keys an attacker sends.
+ * Keys that collide on a stripe share a bucket; the stripe count should be large enough
+ * for that to be rare.
+ */
+final class TokenBucketStripes {
+
+    private final AtomicLongArray theoreticalArrival;
+    private final int mask;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier clock;
+
+    /**
+     * @param stripes number of buckets, rounded up to a power of two
+     * @param capacity maximum burst size (tokens in a full bucket)
+     * @param refillPeriodNanos time needed to refill one token
+     * @param clock monotonic nanosecond clock
+     */
+    TokenBucketStripes(int stripes, int capacity, long refillPeriodNanos, LongSupplier clock) {
+        if (stripes <= 0 || capacity <= 0 || refillPeriodNanos <= 0) {
+            throw new IllegalArgumentException("Stripes, capacity and refill period must be positive");
+        }
+        int size = Integer.highestOneBit(stripes - 1) << 1;
+        if (size <= 0) {
+            size = 1;
+        }
+        this.theoreticalArrival = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.emissionIntervalNanos = refillPeriodNanos;
+        this.burstToleranceNanos = refillPeriodNanos * (capacity - 1);
+        this.clock = clock;
+        long start = clock.getAsLong();
+        for (int i = 0; i < size; i++) {
+            theoreticalArrival.set(i, start);
+        }
+    }
+
+    /**
+     * Attempts to take one token from the bucket the key maps to.
+     *
+     * @param key the bucket key (username, client address, ...)
+     * @return {@code true} if a token was available, {@code false} if the caller is throttled
+     */
+    boolean tryAcquire(String key) {
+        int index = stripeOf(key);
+        while (true) {
+            long now = clock.getAsLong();
+            long current = theoreticalArrival.get(index);
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            if (next - now > burstToleranceNanos + emissionIntervalNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(index, current, next)) {
+                return true;
+            }
+        }
+    }
+
+    int stripes() {
+        return mask + 1;
+    }
+
+    private int stripeOf(String key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        h *= 0x85ebca6b;
+        h ^= (h >>> 13);
+        return h & mask;
+    }
+}
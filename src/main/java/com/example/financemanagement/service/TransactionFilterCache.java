@@ -0,0 +1,71 @@
+package com.example.financemanagement.service;
+
+import com.example.financemanagement.dto.TransactionFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Bounded cache of parsed {@link TransactionFilter} expressions, keyed by the expression with
+ * its whitespace normalized.
+ *
+ * <p>Clients tend to repeat the same few filters, so each is parsed once per node. Parsed
+ * filters are immutable and never go stale; when the cache is full an arbitrary entry makes
+ * room. Invalid expressions are not cached and fail again on every request.
+ */
+@Component
+public class TransactionFilterCache {
+
+    private final ConcurrentMap<String, TransactionFilter> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    /**
+     * Constructs a new TransactionFilterCache.
+     *
+     * @param maxEntries maximum number of cached expressions
+     */
+    public TransactionFilterCache(@Value("${app.transactionFilter.maxEntries:1000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns the parsed filter for an expression, parsing it on first use.
+     *
+     * @param expression the filter expression
+     * @return the parsed filter
+     * @throws com.example.financemanagement.exception.BadRequestException if the expression is malformed
+     */
+    public TransactionFilter get(String expression) {
+        if (expression.length() > TransactionFilter.MAX_LENGTH) {
+            return TransactionFilter.parse(expression);
+        }
+        String key = TransactionFilter.normalize(expression);
+        TransactionFilter filter = entries.get(key);
+        if (filter != null) {
+            return filter;
+        }
+        filter = TransactionFilter.parse(key);
+        if (maxEntries > 0) {
+            if (entries.size() >= maxEntries) {
+                evict();
+            }
+            entries.put(key, filter);
+        }
+        return filter;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() >= maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+}
@@ -0,0 +1,418 @@
+package com.example.financemanagement.service;
+
+import com.example.financemanagement.dto.TagExpression;
+import com.example.financemanagement.entity.SyncEntityType;
+import com.example.financemanagement.entity.SyncTombstone;
+import com.example.financemanagement.entity.Transaction;
+import com.example.financemanagement.repository.SyncTombstoneRepository;
+import com.example.financemanagement.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * Per-user in-memory index over transactions, used by {@link TransactionService} for text
+ * search and tag filters.
+ *
+ * <p>A user's index is built on their first search or tag filter from all of their
+ * transactions and then kept in memory. For search, terms from descriptions and category
+ * names sit in a sorted map, so a query term matches every indexed term it is a prefix of,
+ * and each term maps to a compressed {@link PostingList} of transaction ids. For tags, each
+ * transaction gets a dense ordinal and each tag a bitmap of ordinals, so a tag expression is
+ * evaluated with word-wise bitmap operations instead of one join per tag.
+ * {@link TransactionService} writes update a loaded index once their database transaction
+ * commits. Writes made on other nodes are picked up from the sync change feed: before each
+ * search the index applies the rows and tombstones stamped after the change sequence it has
+ * seen, which is one cursor lookup when nothing changed.
+ *
+ * <p>At most {@code app.search.maxUsers} indexes are held, and an index not searched for
+ * {@code app.search.ttl} is dropped and rebuilt on demand.
+ *
+ * @author Finance Management Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class TransactionSearchIndex {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ConcurrentMap<Long, UserIndex> indexes = new ConcurrentHashMap<>();
+    private final TransactionRepository transactionRepository;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final ChangeSequence changeSequence;
+    private final int maxUsers;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+
+    /**
+     * Constructs a new TransactionSearchIndex with the configured bounds.
+     *
+     * @param transactionRepository source of the indexed transactions
+     * @param syncTombstoneRepository source of deletions made on other nodes
+     * @param changeSequence the per-user change sequence
+     * @param maxUsers maximum number of users whose index is kept in memory
+     * @param ttl time without a search after which a user's index is dropped
+     */
+    @Autowired
+    public TransactionSearchIndex(TransactionRepository transactionRepository,
+                                  SyncTombstoneRepository syncTombstoneRepository,
+                                  ChangeSequence changeSequence,
+                                  @Value("${app.search.maxUsers:1000}") int maxUsers,
+                                  @Value("${app.search.ttl:30m}") Duration ttl) {
+        this(transactionRepository, syncTombstoneRepository, changeSequence, maxUsers, ttl, System::nanoTime);
+    }
+
+    TransactionSearchIndex(TransactionRepository transactionRepository,
+                           SyncTombstoneRepository syncTombstoneRepository,
+                           ChangeSequence changeSequence,
+                           int maxUsers, Duration ttl, LongSupplier clock) {
+        this.transactionRepository = transactionRepository;
+        this.syncTombstoneRepository = syncTombstoneRepository;
+        this.changeSequence = changeSequence;
+        this.maxUsers = maxUsers;
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * Splits text into lower-case terms on anything that is not a letter or digit.
+     *
+     * @param text the text to split, may be null
+     * @return the distinct terms in order of appearance
+     */
+    static Set<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String term : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Finds the user's transactions matching every query term, each as a prefix. Must run
+     * inside a database transaction.
+     *
+     * @param userId the owner of the transactions
+     * @param queryTerms the terms from {@link #tokenize}, not empty
+     * @return the matching ids in ascending order
+     */
+    public long[] search(Long userId, Set<String> queryTerms) {
+        return query(userId, index -> {
+            long[] result = null;
+            for (String term : queryTerms) {
+                long[] matches = index.matchPrefix(term);
+                result = result == null ? matches : intersect(result, matches);
+                if (result.length == 0) {
+                    break;
+                }
+            }
+            return result == null ? new long[0] : result;
+        });
+    }
+
+    /**
+     * Finds the user's transactions whose tags satisfy an expression. Must run inside a
+     * database transaction.
+     *
+     * @param userId the owner of the transactions
+     * @param expression the tag expression
+     * @return the matching ids in ascending order
+     */
+    public long[] matchTags(Long userId, TagExpression expression) {
+        return query(userId, index -> index.matchTags(expression));
+    }
+
+    /**
+     * (Re)indexes a transaction once the surrounding database transaction commits. Does
+     * nothing unless the owner's index is loaded.
+     *
+     * @param userId the owner
+     * @param transaction the transaction as written, with its change sequence
+     */
+    public void indexAfterCommit(Long userId, Transaction transaction) {
+        if (!indexes.containsKey(userId)) {
+            return;
+        }
+        long id = transaction.getId();
+        long sequence = transaction.getChangeSeq();
+        Set<String> terms = terms(transaction);
+        Set<String> tags = Set.copyOf(transaction.getTags());
+        afterCommit(() -> {
+            UserIndex index = indexes.get(userId);
+            if (index != null) {
+                synchronized (index) {
+                    index.put(id, terms, tags, sequence);
+                }
+            }
+        });
+    }
+
+    /**
+     * Removes a transaction once the surrounding database transaction commits. Does nothing
+     * unless the owner's index is loaded.
+     *
+     * @param userId the owner
+     * @param transactionId the id of the deleted transaction
+     */
+    public void removeAfterCommit(Long userId, Long transactionId) {
+        if (!indexes.containsKey(userId)) {
+            return;
+        }
+        afterCommit(() -> {
+            UserIndex index = indexes.get(userId);
+            if (index != null) {
+                synchronized (index) {
+                    index.remove(transactionId, Long.MAX_VALUE);
+                }
+            }
+        });
+    }
+
+    int size() {
+        return indexes.size();
+    }
+
+    // Runs a lookup against the user's index, loading or catching it up first
+    private long[] query(Long userId, Function<UserIndex, long[]> lookup) {
+        long now = clock.getAsLong();
+        if (indexes.size() >= maxUsers && !indexes.containsKey(userId)) {
+            evict(now);
+        }
+        UserIndex index = indexes.compute(userId, (id, existing) -> {
+            UserIndex current = existing == null || now - existing.lastUsed > ttlNanos ? new UserIndex() : existing;
+            current.lastUsed = now;
+            return current;
+        });
+        synchronized (index) {
+            catchUp(userId, index);
+            return lookup.apply(index);
+        }
+    }
+
+    // Applies every change stamped after what the index has seen; the first call builds it
+    private void catchUp(Long userId, UserIndex index) {
+        long current = changeSequence.current(userId);
+        if (index.built && index.seenSequence >= current) {
+            return;
+        }
+        long after = index.built ? index.seenSequence : -1;
+        for (Transaction transaction : transactionRepository.findChanged(userId, after, current)) {
+            index.put(transaction.getId(), terms(transaction), transaction.getTags(), transaction.getChangeSeq());
+        }
+        if (index.built) {
+            for (SyncTombstone tombstone : syncTombstoneRepository.findChanged(userId, after, current)) {
+                if (tombstone.getEntityType() == SyncEntityType.TRANSACTION) {
+                    index.remove(tombstone.getEntityId(), tombstone.getChangeSeq());
+                }
+            }
+        }
+        index.built = true;
+        index.seenSequence = current;
+    }
+
+    /**
+     * Drops indexes idle for longer than the time-to-live and, if still full, an arbitrary
+     * one so the index about to be added stays within the bound.
+     */
+    private void evict(long now) {
+        indexes.values().removeIf(index -> now - index.lastUsed > ttlNanos);
+        Iterator<Long> users = indexes.keySet().iterator();
+        while (indexes.size() >= maxUsers && users.hasNext()) {
+            users.next();
+            users.remove();
+        }
+    }
+
+    private static Set<String> terms(Transaction transaction) {
+        Set<String> terms = tokenize(transaction.getDescription());
+        terms.addAll(tokenize(transaction.getCategoryName()));
+        return terms;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[count++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * One user's index. Each document remembers its terms and tags, so an update or delete
+     * touches only the posting lists and bitmaps it is in, and the change sequence it was
+     * indexed at, so a catch-up read from a lagging replica never overwrites a newer local
+     * write. Ordinals of deleted transactions are not reused; they are dropped with the index.
+     */
+    private static final class UserIndex {
+        private static final String[] NO_TERMS = new String[0];
+        private static final BitSet NO_BITS = new BitSet();
+
+        private final NavigableMap<String, PostingList> postings = new TreeMap<>();
+        private final Map<String, BitSet> tagBitmaps = new HashMap<>();
+        private final BitSet live = new BitSet();
+        private final Map<Long, Document> documents = new HashMap<>();
+        private long[] idsByOrdinal = new long[16];
+        private int nextOrdinal;
+        private volatile long lastUsed;
+        private boolean built;
+        private long seenSequence;
+
+        void put(long id, Set<String> terms, Set<String> tags, long sequence) {
+            Document previous = documents.get(id);
+            if (previous != null) {
+                if (previous.sequence() > sequence) {
+                    return;
+                }
+                unlink(id, previous);
+            }
+            String[] stored = new String[terms.size()];
+            int i = 0;
+            for (String term : terms) {
+                // Reuse the map's key instance so each distinct term is held once
+                String key = postings.ceilingKey(term);
+                if (key == null || !key.equals(term)) {
+                    key = term;
+                    postings.put(key, new PostingList());
+                }
+                postings.get(key).add(id);
+                stored[i++] = key;
+            }
+            int ordinal = previous != null && previous.ordinal() >= 0 ? previous.ordinal() : assignOrdinal(id);
+            for (String tag : tags) {
+                tagBitmaps.computeIfAbsent(tag, key -> new BitSet()).set(ordinal);
+            }
+            live.set(ordinal);
+            documents.put(id, new Document(stored, tags.toArray(NO_TERMS), ordinal, sequence));
+        }
+
+        // Keeps an empty document behind so a stale catch-up cannot bring the row back
+        void remove(long id, long sequence) {
+            Document previous = documents.get(id);
+            if (previous == null || previous.sequence() <= sequence) {
+                if (previous != null) {
+                    unlink(id, previous);
+                }
+                documents.put(id, new Document(NO_TERMS, NO_TERMS, -1, sequence));
+            }
+        }
+
+        long[] matchTags(TagExpression expression) {
+            BitSet matches = expression.evaluate(tag -> tagBitmaps.getOrDefault(tag, NO_BITS), live);
+            long[] ids = new long[matches.cardinality()];
+            int i = 0;
+            for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+                ids[i++] = idsByOrdinal[ordinal];
+            }
+            // Ordinals follow indexing order, which a catch-up from another node can shuffle
+            Arrays.sort(ids);
+            return ids;
+        }
+
+        long[] matchPrefix(String prefix) {
+            List<long[]> lists = new ArrayList<>();
+            int total = 0;
+            for (PostingList list : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                long[] ids = list.toArray();
+                lists.add(ids);
+                total += ids.length;
+            }
+            if (lists.size() == 1) {
+                return lists.get(0);
+            }
+            long[] merged = new long[total];
+            int position = 0;
+            for (long[] ids : lists) {
+                System.arraycopy(ids, 0, merged, position, ids.length);
+                position += ids.length;
+            }
+            return Arrays.stream(merged).sorted().distinct().toArray();
+        }
+
+        private int assignOrdinal(long id) {
+            if (nextOrdinal == idsByOrdinal.length) {
+                idsByOrdinal = Arrays.copyOf(idsByOrdinal, nextOrdinal * 2);
+            }
+            idsByOrdinal[nextOrdinal] = id;
+            return nextOrdinal++;
+        }
+
+        private void unlink(long id, Document document) {
+            for (String term : document.terms()) {
+                PostingList list = postings.get(term);
+                if (list != null) {
+                    list.remove(id);
+                    if (list.size() == 0) {
+                        postings.remove(term);
+                    }
+                }
+            }
+            if (document.ordinal() < 0) {
+                return;
+            }
+            for (String tag : document.tags()) {
+                BitSet bitmap = tagBitmaps.get(tag);
+                if (bitmap != null) {
+                    bitmap.clear(document.ordinal());
+                    if (bitmap.isEmpty()) {
+                        tagBitmaps.remove(tag);
+                    }
+                }
+            }
+            live.clear(document.ordinal());
+        }
+    }
+
+    private record Document(String[] terms, String[] tags, int ordinal, long sequence) {
+    }
+}
@@ -1,23 +1,48 @@
 package com.example.financemanagement.service;
 
+import com.example.financemanagement.diagnostics.BatchWriteEvent;
+import com.example.financemanagement.dto.MergePatch;
+import com.example.financemanagement.dto.TagExpression;
+import com.example.financemanagement.dto.TransactionFilter;
 import com.example.financemanagement.dto.TransactionRequest;
 import com.example.financemanagement.dto.TransactionResponse;
 import com.example.financemanagement.entity.Category;
 import com.example.financemanagement.entity.Transaction;
+import com.example.financemanagement.entity.SyncEntityType;
 import com.example.financemanagement.entity.User;
+import com.example.financemanagement.exception.BadRequestException;
 import com.example.financemanagement.exception.ForbiddenException;
+import com.example.financemanagement.exception.ResourceConflictException;
 import com.example.financemanagement.exception.ResourceNotFoundException;
+import com.example.financemanagement.repository.CategoryClosureRepository;
 import com.example.financemanagement.repository.CategoryRepository;
 import com.example.financemanagement.repository.TransactionRepository;
 import com.example.financemanagement.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 /**
@@ -43,8 +68,13 @@ import java.util.stream.Collectors;
  * @since 1.0
  */
 @Service
+@Timed(value = "service.operation", description = "Service method latency, tagged by class and method")
 public class TransactionService {
 
+    private static final int ID_CHUNK_SIZE = 1000;
+
+    private static final Set<String> PATCHABLE_FIELDS = Set.of("amount", "date", "description", "category", "tags");
+
     @Autowired
     private TransactionRepository transactionRepository;
 
@@ -54,6 +84,27 @@ public class TransactionService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private IdempotencyKeyStore idempotencyKeyStore;
+
+    @Autowired
+    private ChangeSequence changeSequence;
+
+    @Autowired
+    private TransactionSearchIndex transactionSearchIndex;
+
+    @Autowired
+    private TransactionFilterCache transactionFilterCache;
+
+    @Autowired
+    private CategoryClosureRepository categoryClosureRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.search.maxResults:100}")
+    private int maxSearchResults;
+
     /**
      * Creates a new transaction for the current user.
      * @param request DTO containing transaction details.
@@ -61,8 +112,29 @@ public class TransactionService {
      */
     @Transactional
     public TransactionResponse createTransaction(TransactionRequest request) {
+        return createTransaction(request, null);
+    }
+
+    /**
+     * Creates a new transaction for the current user, at most once per idempotency key.
+     * A retry with a key this node remembers is answered from memory; a key first used on
+     * another node is detected by the key insert, which then rolls this insert back.
+     * @param request DTO containing transaction details.
+     * @param idempotencyKey The client's {@code Idempotency-Key}, or null to always create.
+     * @return The created transaction, or the one created earlier with the same key.
+     * @throws ResourceConflictException if a request with the same key is still in progress.
+     */
+    @Transactional
+    public TransactionResponse createTransaction(TransactionRequest request, String idempotencyKey) {
         User user = getCurrentUser();
-        Category category = categoryRepository.findByNameAndUserId(request.getCategory(), user.getId())
+        if (idempotencyKey != null) {
+            idempotencyKeyStore.validate(idempotencyKey);
+            TransactionResponse original = idempotencyKeyStore.find(user.getId(), idempotencyKey);
+            if (original != null) {
+                return original;
+            }
+        }
+        Category category = resolveCategoryForWrite(request.getCategory(), user)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found: " + request.getCategory()));
 
         Transaction transaction = new Transaction(
@@ -73,9 +145,26 @@ public class TransactionService {
                 user,
                 category
         );
+        transaction.setTags(TagExpression.normalizeTags(request.getTags()));
+        transaction.setChangeSeq(changeSequence.next(user.getId()));
 
+        BatchWriteEvent event = new BatchWriteEvent();
+        event.begin();
         Transaction savedTransaction = transactionRepository.save(transaction);
-        return convertToResponse(savedTransaction);
+        commitWrite(event, "insert", 1);
+        transactionSearchIndex.indexAfterCommit(user.getId(), savedTransaction);
+        TransactionResponse response = convertToResponse(savedTransaction);
+        if (idempotencyKey == null) {
+            return response;
+        }
+
+        Long originalId = idempotencyKeyStore.claim(user.getId(), idempotencyKey, savedTransaction.getId());
+        if (originalId != null) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            response = convertToResponse(findOwnedTransaction(originalId, user, "view"));
+        }
+        idempotencyKeyStore.remember(user.getId(), idempotencyKey, response);
+        return response;
     }
 
     /**
@@ -87,13 +176,89 @@ public class TransactionService {
      */
     @Transactional(readOnly = true)
     public List<TransactionResponse> getTransactions(LocalDate startDate, LocalDate endDate, String category) {
+        return getTransactions(startDate, endDate, category, null, null);
+    }
+
+    /**
+     * Retrieves transactions for the current user matching a filter expression, such as
+     * {@code amount>100 AND type:EXPENSE AND category:Food,Rent AND date>=2024-01-01}, a tag
+     * expression, such as {@code vacation-2024 AND NOT reimbursable}, and the other optional
+     * filters. See {@link TransactionFilter} and {@link TagExpression} for the syntax.
+     * Tag expressions are evaluated on the in-memory {@link TransactionSearchIndex}.
+     * @param startDate The start date of the filter range.
+     * @param endDate The end date of the filter range.
+     * @param category The name of the category to filter by.
+     * @param filter The filter expression, or {@code null} for none.
+     * @param tags The tag expression, or {@code null} for none.
+     * @return A list of transaction DTOs.
+     * @throws BadRequestException if the filter or tag expression is malformed.
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionResponse> getTransactions(LocalDate startDate, LocalDate endDate, String category,
+                                                     String filter, String tags) {
         User user = getCurrentUser();
-        List<Transaction> transactions = transactionRepository.findTransactionsByFilters(user.getId(), startDate, endDate, category);
+        long[] tagged = tags == null ? null : transactionSearchIndex.matchTags(user.getId(), TagExpression.parse(tags));
+        List<Transaction> transactions;
+        if (tagged != null && filter == null && startDate == null && endDate == null && category == null) {
+            transactions = findOwnedByIds(user.getId(), tagged, Pageable.unpaged());
+        } else {
+            transactions = filter == null
+                    ? transactionRepository.findTransactionsByFilters(user.getId(), startDate, endDate, category)
+                    : transactionRepository.findByFilter(user.getId(), transactionFilterCache.get(filter), startDate, endDate, category);
+        }
         return transactions.stream()
+                .filter(transaction -> tagged == null || Arrays.binarySearch(tagged, transaction.getId()) >= 0)
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Searches the current user's transactions by description and category name. Every word
+     * of the query must match the start of a word in either field, so results narrow as the
+     * user types. Matches come from the in-memory {@link TransactionSearchIndex}; only the
+     * newest matching rows by date, up to {@code app.search.maxResults}, are loaded.
+     * @param query The search text.
+     * @return The matching transactions, newest first.
+     * @throws BadRequestException if the query has no letters or digits.
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionResponse> searchTransactions(String query) {
+        User user = getCurrentUser();
+        Set<String> terms = TransactionSearchIndex.tokenize(query);
+        if (terms.isEmpty()) {
+            throw new BadRequestException("Search query must contain a letter or digit");
+        }
+        long[] ids = transactionSearchIndex.search(user.getId(), terms);
+        if (ids.length == 0) {
+            return List.of();
+        }
+        // Newest by transaction date, as the list is ordered: a backdated insert has a high id
+        // but must not push out transactions dated after it
+        return findOwnedByIds(user.getId(), ids, PageRequest.of(0, maxSearchResults)).stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+    }
+
+    // Loads the given ids in bounded IN lists, newest first and at most one page of them, then
+    // restores that order and limit across chunks
+    private List<Transaction> findOwnedByIds(Long userId, long[] ids, Pageable page) {
+        List<Transaction> transactions = new ArrayList<>();
+        for (int from = 0; from < ids.length; from += ID_CHUNK_SIZE) {
+            List<Long> chunk = new ArrayList<>();
+            for (int i = from; i < Math.min(ids.length, from + ID_CHUNK_SIZE); i++) {
+                chunk.add(ids[i]);
+            }
+            transactions.addAll(transactionRepository.findOwnedByIds(userId, chunk, page));
+        }
+        if (ids.length > ID_CHUNK_SIZE) {
+            transactions.sort(Comparator.comparing(Transaction::getDate).thenComparing(Transaction::getId).reversed());
+            if (page.isPaged() && transactions.size() > page.getPageSize()) {
+                transactions = transactions.subList(0, page.getPageSize());
+            }
+        }
+        return transactions;
+    }
+
     /**
      * Retrieves a single transaction by its ID.
      * @param id The ID of the transaction.
@@ -104,18 +269,14 @@ public class TransactionService {
     @Transactional(readOnly = true)
     public TransactionResponse getTransactionById(Long id) {
         User user = getCurrentUser();
-        Transaction transaction = transactionRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + id));
-
-        if (!transaction.getUser().getId().equals(user.getId())) {
-            throw new ForbiddenException("You are not authorized to view this transaction.");
-        }
+        Transaction transaction = findOwnedTransaction(id, user, "view");
 
         return convertToResponse(transaction);
     }
 
     /**
-     * Updates an existing transaction.
+     * Updates an existing transaction. The change is applied with a single ownership-checked
+     * UPDATE statement; the row is read back afterwards only to build the response.
      * @param id The ID of the transaction to update.
      * @param request DTO containing the updated details.
      * @return The updated transaction as a DTO.
@@ -123,52 +284,207 @@ public class TransactionService {
     @Transactional
     public TransactionResponse updateTransaction(Long id, TransactionRequest request) {
         User user = getCurrentUser();
-        Transaction transaction = transactionRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + id));
 
-        if (!transaction.getUser().getId().equals(user.getId())) {
-            throw new ForbiddenException("You are not authorized to update this transaction.");
-        }
-
-        // Update fields only if they are provided and not null
-        if (request.getAmount() != null) {
-            transaction.setAmount(request.getAmount());
-        }
-        
         // Ignore date updates as per test requirements
         // Date field is intentionally not updated
-        
-        if (request.getDescription() != null) {
-            transaction.setDescription(request.getDescription());
-        }
-        
+
+        BatchWriteEvent event = new BatchWriteEvent();
+        int updated;
         if (request.getCategory() != null && !request.getCategory().trim().isEmpty()) {
-            Category category = categoryRepository.findByNameAndUserId(request.getCategory(), user.getId())
+            Category category = resolveCategoryForWrite(request.getCategory(), user)
                     .orElseThrow(() -> new ResourceNotFoundException("Category not found with name: " + request.getCategory()));
-            transaction.setCategory(category);
-            transaction.setCategoryName(category.getName());
-            transaction.setType(category.getType());
+            event.begin();
+            updated = transactionRepository.updateOwnedWithCategory(id, user.getId(),
+                    request.getAmount(), request.getDescription(),
+                    category, category.getName(), category.getType(), changeSequence.next(user.getId()));
+        } else {
+            event.begin();
+            updated = transactionRepository.updateOwned(id, user.getId(),
+                    request.getAmount(), request.getDescription(), changeSequence.next(user.getId()));
+        }
+        commitWrite(event, "update", updated);
+        if (updated == 0) {
+            throw missingTransaction(id, "update");
         }
 
-        Transaction updatedTransaction = transactionRepository.save(transaction);
-        return convertToResponse(updatedTransaction);
+        Transaction transaction = findOwnedTransaction(id, user, "update");
+        if (request.getTags() != null) {
+            Set<String> tags = TagExpression.normalizeTags(request.getTags());
+            if (!tags.equals(transaction.getTags())) {
+                transaction.setTags(tags);
+            }
+        }
+        transactionSearchIndex.indexAfterCommit(user.getId(), transaction);
+        return convertToResponse(transaction);
     }
 
     /**
-     * Deletes a transaction by its ID.
+     * Applies a JSON Merge Patch to a transaction. Only members present in the patch are
+     * touched, and a setter is only called when the value actually changes, so Hibernate's
+     * dirty checking (with {@code @DynamicUpdate} on the entity) writes just the changed
+     * columns and a patch that changes nothing issues no UPDATE at all.
+     * @param id The ID of the transaction to patch.
+     * @param patch The merge patch document.
+     * @return The patched transaction as a DTO.
+     * @throws BadRequestException if the patch names unknown fields or holds invalid values.
+     */
+    @Transactional
+    public TransactionResponse patchTransaction(Long id, MergePatch patch) {
+        User user = getCurrentUser();
+        patch.requireOnly(PATCHABLE_FIELDS);
+        Transaction transaction = findOwnedTransaction(id, user, "update");
+        boolean changed = false;
+
+        if (patch.has("amount")) {
+            BigDecimal amount = patch.requiredDecimal("amount");
+            if (amount.compareTo(new BigDecimal("0.01")) < 0) {
+                throw new BadRequestException("Amount must be greater than 0");
+            }
+            if (amount.compareTo(transaction.getAmount()) != 0) {
+                transaction.setAmount(amount);
+                changed = true;
+            }
+        }
+        if (patch.has("date")) {
+            LocalDate date = patch.requiredDate("date");
+            if (date.isAfter(LocalDate.now())) {
+                throw new BadRequestException("Date cannot be in the future");
+            }
+            if (!date.equals(transaction.getDate())) {
+                transaction.setDate(date);
+                changed = true;
+            }
+        }
+        if (patch.has("description")) {
+            String description = patch.text("description");
+            if (!Objects.equals(description, transaction.getDescription())) {
+                transaction.setDescription(description);
+                changed = true;
+            }
+        }
+        if (patch.has("category")) {
+            String name = patch.requiredText("category");
+            if (!name.equals(transaction.getCategoryName())) {
+                Category category = resolveCategoryForWrite(name, user)
+                        .orElseThrow(() -> new ResourceNotFoundException("Category not found with name: " + name));
+                transaction.setCategory(category);
+                transaction.setCategoryName(category.getName());
+                transaction.setType(category.getType());
+                changed = true;
+            }
+        }
+        if (patch.has("tags")) {
+            Set<String> tags = TagExpression.normalizeTags(patch.textList("tags"));
+            if (!tags.equals(transaction.getTags())) {
+                transaction.setTags(tags);
+                changed = true;
+            }
+        }
+        if (changed) {
+            transaction.setChangeSeq(changeSequence.next(user.getId()));
+            transactionSearchIndex.indexAfterCommit(user.getId(), transaction);
+        }
+
+        return convertToResponse(transaction);
+    }
+
+    /**
+     * Deletes a transaction by its ID with a single ownership-checked DELETE statement.
      * @param id The ID of the transaction to delete.
      */
     @Transactional
     public void deleteTransaction(Long id) {
         User user = getCurrentUser();
-        Transaction transaction = transactionRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + id));
+        BatchWriteEvent event = new BatchWriteEvent();
+        event.begin();
+        int deleted = transactionRepository.deleteByIdAndUserId(id, user.getId());
+        commitWrite(event, "delete", deleted);
+        if (deleted == 0) {
+            throw missingTransaction(id, "delete");
+        }
+        changeSequence.recordDeletion(user.getId(), SyncEntityType.TRANSACTION, id, null);
+        transactionSearchIndex.removeAfterCommit(user.getId(), id);
+    }
 
-        if (!transaction.getUser().getId().equals(user.getId())) {
-            throw new ForbiddenException("You are not authorized to delete this transaction.");
+    private static void commitWrite(BatchWriteEvent event, String operation, int rows) {
+        if (event.shouldCommit()) {
+            event.table = "transactions";
+            event.operation = operation;
+            event.rows = rows;
+            event.commit();
         }
+    }
+
+    /**
+     * Loads a transaction with the ownership check pushed into the query. Only when no owned
+     * row matches is a second, id-only existence check run to tell 403 apart from 404.
+     * @param id The ID of the transaction.
+     * @param user The current user.
+     * @param action The attempted action, used in the error message.
+     * @return The transaction owned by the user.
+     * @throws ResourceNotFoundException if the transaction does not exist.
+     * @throws ForbiddenException if the transaction belongs to another user.
+     */
+    private Transaction findOwnedTransaction(Long id, User user, String action) {
+        return transactionRepository.findByIdAndUserId(id, user.getId())
+                .orElseThrow(() -> missingTransaction(id, action));
+    }
 
-        transactionRepository.delete(transaction);
+    /**
+     * Builds the error for an id that matched no owned row: 403 if the row exists for
+     * another user, 404 otherwise. Only runs on the failure path.
+     * @param id The ID of the transaction.
+     * @param action The attempted action, used in the error message.
+     * @return The exception to throw.
+     */
+    private RuntimeException missingTransaction(Long id, String action) {
+        return transactionRepository.existsById(id)
+                ? new ForbiddenException("You are not authorized to " + action + " this transaction.")
+                : new ResourceNotFoundException("Transaction not found with id: " + id);
+    }
+
+    /**
+     * Resolves the category a transaction is written against. The user's own category wins;
+     * otherwise a matching shared default template is copied into a user-owned row on this
+     * first write, so later lookups and deletes only ever see the user's copy.
+     * @param name The category name from the request.
+     * @param user The current user.
+     * @return The user-owned category, or empty if neither the user nor the templates define it.
+     */
+    private Optional<Category> resolveCategoryForWrite(String name, User user) {
+        Optional<Category> owned = categoryRepository.findByNameAndUserId(name, user.getId());
+        if (owned.isPresent()) {
+            return owned;
+        }
+        return categoryRepository.findByNameAndUserIsNull(name)
+                .map(template -> copyTemplate(template, user));
+    }
+
+    /**
+     * Copies a default template into a row owned by the user. The copy commits in a
+     * transaction of its own, so when a concurrent first write against the same template wins
+     * the unique constraint, only the copy fails and the winner's row is read back instead.
+     * Called before the surrounding transaction advances the user's change sequence, whose
+     * cursor row the copy also advances.
+     * @param template The shared default category.
+     * @param user The current user.
+     * @return The user's copy of the template.
+     */
+    private Category copyTemplate(Category template, User user) {
+        TransactionTemplate copyTransaction = new TransactionTemplate(transactionManager);
+        copyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            return copyTransaction.execute(status -> {
+                Category copy = new Category(template.getName(), template.getType(), false, user);
+                copy.setChangeSeq(changeSequence.next(user.getId()));
+                Category saved = categoryRepository.save(copy);
+                categoryClosureRepository.insertSelf(saved.getId());
+                return saved;
+            });
+        } catch (DataIntegrityViolationException ex) {
+            return categoryRepository.readByNameAndUserId(template.getName(), user.getId())
+                    .orElseThrow(() -> ex);
+        }
     }
 
     /**
@@ -181,9 +497,10 @@ public class TransactionService {
                 transaction.getId(),
                 transaction.getAmount(),
                 transaction.getDate(),
-                transaction.getCategory().getName(),
+                transaction.getCategoryName(),
                 transaction.getDescription(),
-                transaction.getType()
+                transaction.getType(),
+                new TreeSet<>(transaction.getTags())
         );
     }
 
@@ -0,0 +1,122 @@
+package com.example.financemanagement.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, time-limited {@link UserCache} used by {@link UserDetailsServiceImpl}.
+ *
+ * <p>Entries expire after a fixed time-to-live and the cache never holds more than the
+ * configured number of users. Cached details are copied on the way in and on the way out,
+ * because Spring Security erases credentials on the {@link UserDetails} instance it hands to
+ * the authenticated principal; sharing the instance would blank the cached password hash.
+ *
+ * <p>Entries are invalidated explicitly when a user row changes, see
+ * {@link com.example.financemanagement.entity.UserCacheInvalidationListener}.
+ *
+ * @author Finance Management Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class UserDetailsCache implements UserCache {
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+
+    /**
+     * Constructs a new UserDetailsCache with the configured bounds.
+     *
+     * @param maxEntries maximum number of cached users
+     * @param ttl time after which a cached entry is reloaded from the database
+     */
+    @Autowired
+    public UserDetailsCache(@Value("${app.userCache.maxEntries:10000}") int maxEntries,
+                            @Value("${app.userCache.ttl:5m}") Duration ttl) {
+        this(maxEntries, ttl, System::nanoTime);
+    }
+
+    UserDetailsCache(int maxEntries, Duration ttl, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        if (username == null) {
+            return null;
+        }
+        Entry entry = entries.get(username);
+        if (entry == null) {
+            return null;
+        }
+        if (clock.getAsLong() - entry.expiresAt() > 0) {
+            entries.remove(username, entry);
+            return null;
+        }
+        return copyOf(entry.details());
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        if (maxEntries <= 0 || user == null || user.getPassword() == null) {
+            return;
+        }
+        if (entries.size() >= maxEntries && !entries.containsKey(user.getUsername())) {
+            evict();
+        }
+        entries.put(user.getUsername(), new Entry(copyOf(user), clock.getAsLong() + ttlNanos));
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        if (username != null) {
+            entries.remove(username);
+        }
+    }
+
+    /**
+     * Removes every cached user.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drops expired entries and, if the cache is still full, an arbitrary live entry so
+     * the insert that triggered eviction stays within the bound.
+     */
+    private void evict() {
+        long now = clock.getAsLong();
+        entries.values().removeIf(entry -> now - entry.expiresAt() > 0);
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() >= maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static UserDetails copyOf(UserDetails user) {
+        return User.withUserDetails(user).build();
+    }
+
+    private record Entry(UserDetails details, long expiresAt) {
+    }
+}
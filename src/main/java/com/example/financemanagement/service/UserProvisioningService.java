@@ -0,0 +1,254 @@
+package com.example.financemanagement.service;
+
+import com.example.financemanagement.diagnostics.BatchWriteEvent;
+import com.example.financemanagement.dto.BulkUserRegistrationResponse;
+import com.example.financemanagement.dto.UserRegistrationRequest;
+import com.example.financemanagement.exception.BadRequestException;
+import com.example.financemanagement.exception.ResourceConflictException;
+import com.example.financemanagement.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Service for provisioning user accounts in bulk, e.g. when onboarding a partner organization.
+ *
+ * <p>Compared to calling {@link UserService#registerUser} once per user, this service:
+ * <ul>
+ *   <li>checks username uniqueness with one set-based query per chunk instead of one per user</li>
+ *   <li>hashes passwords in parallel on a dedicated, bounded fork-join pool</li>
+ *   <li>inserts users with JDBC batch statements (Hibernate cannot batch IDENTITY inserts)</li>
+ * </ul>
+ *
+ * <p>Only the inserts run in a database transaction. Hashing a large batch takes seconds of
+ * CPU time, during which no pooled connection is held.
+ *
+ * <p>No category rows are written; new users see the shared default category templates.
+ *
+ * @author Finance Management Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Service
+public class UserProvisioningService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserProvisioningService.class);
+
+    static final String INSERT_USER_SQL =
+            "INSERT INTO users (username, password, full_name, phone_number, admin) VALUES (?, ?, ?, ?, ?)";
+
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    private static final int MAX_INSERT_ATTEMPTS = 3;
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UsernameAvailabilityService usernameAvailabilityService;
+    private final ForkJoinPool hashingPool;
+    private final int batchSize;
+
+    /**
+     * Constructs a new UserProvisioningService.
+     *
+     * @param userRepository the repository used for the set-based uniqueness check
+     * @param passwordEncoder the encoder for password hashing
+     * @param jdbcTemplate the template used for batched inserts
+     * @param transactionManager the transaction manager for the inserts
+     * @param usernameAvailabilityService the filter updated with the inserted usernames
+     * @param parallelism number of hashing threads; non-positive means half the available cores
+     * @param batchSize number of rows per JDBC batch
+     */
+    @Autowired
+    public UserProvisioningService(UserRepository userRepository,
+                                   PasswordEncoder passwordEncoder,
+                                   JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   UsernameAvailabilityService usernameAvailabilityService,
+                                   @Value("${app.bulkProvisioning.parallelism:0}") int parallelism,
+                                   @Value("${app.bulkProvisioning.batchSize:500}") int batchSize) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.usernameAvailabilityService = usernameAvailabilityService;
+        int threads = parallelism > 0 ? parallelism : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.hashingPool = new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("bulk-password-hashing-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Registers every user in the request whose username is not taken yet, none of them admins.
+     *
+     * @param requests the users to create
+     * @return the number of users created and the skipped usernames
+     * @throws BadRequestException if an entry is missing required data
+     */
+    public BulkUserRegistrationResponse registerUsers(List<UserRegistrationRequest> requests) {
+        return registerUsers(requests, Set.of());
+    }
+
+    /**
+     * Registers every user in the request whose username is not taken yet.
+     *
+     * <p>Usernames that already exist, or that appear more than once in the request, are
+     * skipped and reported back rather than failing the whole batch. That includes usernames
+     * registered concurrently while the batch is being hashed.
+     *
+     * <p>The ADMIN role is only granted to new users listed in {@code admins}; an existing
+     * user is skipped as usual and keeps its role.
+     *
+     * @param requests the users to create
+     * @param admins the usernames among {@code requests} to create with the ADMIN role
+     * @return the number of users created and the skipped usernames
+     * @throws BadRequestException if an entry is missing required data
+     * @throws ResourceConflictException if usernames keep being registered concurrently
+     */
+    public BulkUserRegistrationResponse registerUsers(List<UserRegistrationRequest> requests, Set<String> admins) {
+        List<String> skipped = new ArrayList<>();
+        Map<String, UserRegistrationRequest> unique = new LinkedHashMap<>();
+        for (UserRegistrationRequest request : requests) {
+            if (request == null || isBlank(request.getUsername()) || isBlank(request.getFullName())
+                    || request.getPassword() == null) {
+                throw new BadRequestException("Every user requires a username, password and full name");
+            }
+            if (unique.putIfAbsent(request.getUsername(), request) != null) {
+                skipped.add(request.getUsername());
+            }
+        }
+
+        Set<String> existing = findExistingUsernames(new ArrayList<>(unique.keySet()));
+        List<UserRegistrationRequest> toCreate = new ArrayList<>(unique.size());
+        for (UserRegistrationRequest request : unique.values()) {
+            if (existing.contains(request.getUsername())) {
+                skipped.add(request.getUsername());
+            } else {
+                toCreate.add(request);
+            }
+        }
+
+        List<String> hashes = hashPasswords(toCreate);
+
+        List<Object[]> rows = new ArrayList<>(toCreate.size());
+        for (int i = 0; i < toCreate.size(); i++) {
+            UserRegistrationRequest request = toCreate.get(i);
+            rows.add(new Object[]{
+                    request.getUsername(),
+                    hashes.get(i),
+                    request.getFullName(),
+                    request.getPhoneNumber() != null ? request.getPhoneNumber() : "",
+                    admins.contains(request.getUsername())
+            });
+        }
+        List<Object[]> inserted = insertAvailableUsers(rows, skipped);
+        inserted.forEach(row -> usernameAvailabilityService.recordUsername((String) row[0]));
+
+        logger.info("Bulk provisioning created {} users, skipped {}", inserted.size(), skipped.size());
+        return new BulkUserRegistrationResponse(inserted.size(), skipped);
+    }
+
+    /**
+     * Inserts the rows in one transaction. A concurrent registration can take a username
+     * between the uniqueness check and the insert; the unique constraint then rolls the batch
+     * back, and it is retried without the usernames that are now taken, which are added to
+     * {@code skipped}.
+     *
+     * @return the inserted rows
+     * @throws ResourceConflictException if usernames keep being taken concurrently
+     */
+    private List<Object[]> insertAvailableUsers(List<Object[]> rows, List<String> skipped) {
+        for (int attempt = 1; ; attempt++) {
+            List<Object[]> attemptRows = rows;
+            try {
+                transactionTemplate.executeWithoutResult(status -> insertUsers(attemptRows));
+                return rows;
+            } catch (DataIntegrityViolationException ex) {
+                Set<String> taken = findExistingUsernames(rows.stream().map(row -> (String) row[0]).toList());
+                if (taken.isEmpty()) {
+                    throw ex;
+                }
+                if (attempt == MAX_INSERT_ATTEMPTS) {
+                    throw new ResourceConflictException("Usernames registered concurrently: " + String.join(", ", taken));
+                }
+                List<Object[]> available = new ArrayList<>(rows.size());
+                for (Object[] row : rows) {
+                    if (taken.contains((String) row[0])) {
+                        skipped.add((String) row[0]);
+                    } else {
+                        available.add(row);
+                    }
+                }
+                rows = available;
+            }
+        }
+    }
+
+    private void insertUsers(List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<Object[]> batch = rows.subList(from, Math.min(from + batchSize, rows.size()));
+            BatchWriteEvent event = new BatchWriteEvent();
+            event.begin();
+            jdbcTemplate.batchUpdate(INSERT_USER_SQL, batch);
+            if (event.shouldCommit()) {
+                event.table = "users";
+                event.operation = "insert";
+                event.rows = batch.size();
+                event.commit();
+            }
+        }
+    }
+
+    private Set<String> findExistingUsernames(List<String> usernames) {
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < usernames.size(); from += LOOKUP_CHUNK_SIZE) {
+            existing.addAll(userRepository.findExistingUsernames(
+                    usernames.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, usernames.size()))));
+        }
+        return existing;
+    }
+
+    private List<String> hashPasswords(List<UserRegistrationRequest> requests) {
+        try {
+            return hashingPool.submit(() -> requests.parallelStream()
+                    .map(request -> passwordEncoder.encode(request.getPassword()))
+                    .toList()).get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing passwords", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdown();
+    }
+}
@@ -1,12 +1,10 @@
 package com.example.financemanagement.service;
 
 import com.example.financemanagement.dto.UserRegistrationRequest;
-import com.example.financemanagement.entity.Category;
-import com.example.financemanagement.entity.CategoryType;
 import com.example.financemanagement.entity.User;
 import com.example.financemanagement.exception.ResourceConflictException;
-import com.example.financemanagement.repository.CategoryRepository;
 import com.example.financemanagement.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,9 +15,6 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Arrays;
-import java.util.List;
-
 /**
  * Service class for managing user-related operations including registration, authentication,
  * and user details retrieval. This service implements Spring Security's UserDetailsService
@@ -38,26 +33,28 @@ import java.util.List;
  * @since 1.0
  */
 @Service
+@Timed(value = "service.operation", description = "Service method latency, tagged by class and method")
 @Transactional
 public class UserService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
     private final UserRepository userRepository;
-    private final CategoryRepository categoryRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UsernameAvailabilityService usernameAvailabilityService;
 
     /**
      * Constructs a new UserService with the required dependencies.
      * 
      * @param userRepository the repository for user data operations
-     * @param categoryRepository the repository for category data operations
      * @param passwordEncoder the encoder for password hashing and verification
+     * @param usernameAvailabilityService the filter updated with registered usernames
      */
     @Autowired
-    public UserService(UserRepository userRepository, CategoryRepository categoryRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       UsernameAvailabilityService usernameAvailabilityService) {
         this.userRepository = userRepository;
-        this.categoryRepository = categoryRepository;
         this.passwordEncoder = passwordEncoder;
+        this.usernameAvailabilityService = usernameAvailabilityService;
     }
 
     /**
@@ -68,7 +65,11 @@ public class UserService {
      *   <li>Validates that the username (email) is not already taken</li>
      *   <li>Encrypts the password using BCrypt encoding</li>
      *   <li>Creates and persists the new user entity</li>
+     *   <li>Adds the username to the availability filter</li>
      * </ul>
+     *
+     * <p>No category rows are written: the shared default templates are visible to every
+     * user, so registration costs a single INSERT.
      * 
      * @param request the user registration request containing username, password, full name, and phone number
      * @return the newly created and persisted User entity
@@ -101,29 +102,9 @@ public class UserService {
         user.setFullName(fullName);
         user.setPhoneNumber(request.getPhoneNumber() != null ? request.getPhoneNumber() : "");
 
-        User savedUser = userRepository.save(user);
-
-        createDefaultCategoriesForUser(savedUser);
-
-        return savedUser;
-    }
-
-    /**
-     * Creates a set of default income and expense categories for a new user.
-     *
-     * @param user The user for whom to create the default categories.
-     */
-    private void createDefaultCategoriesForUser(User user) {
-        List<Category> defaultCategories = Arrays.asList(
-            new Category("Salary", CategoryType.INCOME, false, user),
-            new Category("Food", CategoryType.EXPENSE, false, user),
-            new Category("Rent", CategoryType.EXPENSE, false, user),
-            new Category("Transportation", CategoryType.EXPENSE, false, user),
-            new Category("Entertainment", CategoryType.EXPENSE, false, user),
-            new Category("Healthcare", CategoryType.EXPENSE, false, user),
-            new Category("Utilities", CategoryType.EXPENSE, false, user)
-        );
-        categoryRepository.saveAll(defaultCategories);
+        User saved = userRepository.save(user);
+        usernameAvailabilityService.recordUsername(username);
+        return saved;
     }
 
     /**
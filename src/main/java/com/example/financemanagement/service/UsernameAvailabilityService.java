@@ -0,0 +1,98 @@
+package com.example.financemanagement.service;
+
+import com.example.financemanagement.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
+
+/**
+ * Answers username availability probes from sign-up forms without touching the database
+ * for names that were never registered.
+ *
+ * <p>All usernames are loaded into an in-memory Bloom filter at startup, and the services that
+ * create users ({@link UserService}, {@link UserProvisioningService} and
+ * {@link AdminBootstrapRunner}) add every new username to it. A negative from the filter is definitive, so only possible
+ * hits fall through to {@link UserRepository#existsByUsername}. Until the filter is warmed
+ * every probe is treated as a possible hit.
+ *
+ * <p>The filter is per instance; on multiple nodes a name registered elsewhere may be
+ * reported available until it is seen locally. Registration itself always re-checks the
+ * database, so this only affects the hint.
+ *
+ * @author Finance Management Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Service
+public class UsernameAvailabilityService implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(UsernameAvailabilityService.class);
+
+    private final UserRepository userRepository;
+    private final UsernameBloomFilter filter;
+    private volatile boolean warmed;
+
+    /**
+     * Constructs a new UsernameAvailabilityService.
+     *
+     * @param userRepository the repository consulted on possible hits and used for warm-up
+     * @param expectedUsers number of usernames the filter is sized for
+     * @param falsePositiveRate target false-positive probability
+     */
+    @Autowired
+    public UsernameAvailabilityService(UserRepository userRepository,
+                                       @Value("${app.usernameFilter.expectedUsers:1000000}") long expectedUsers,
+                                       @Value("${app.usernameFilter.falsePositiveRate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.filter = new UsernameBloomFilter(expectedUsers, falsePositiveRate);
+    }
+
+    /**
+     * Loads every existing username into the filter.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void run(ApplicationArguments args) {
+        long[] count = {0};
+        try (Stream<String> usernames = userRepository.streamAllUsernames()) {
+            usernames.forEach(username -> {
+                filter.put(username);
+                count[0]++;
+            });
+        }
+        warmed = true;
+        logger.info("Username filter warmed with {} usernames", count[0]);
+    }
+
+    /**
+     * Checks whether a username can still be registered.
+     *
+     * @param username the username to probe
+     * @return {@code true} if no user with that name exists
+     */
+    @Transactional(readOnly = true)
+    public boolean isAvailable(String username) {
+        if (warmed && !filter.mightContain(username)) {
+            return true;
+        }
+        return !Boolean.TRUE.equals(userRepository.existsByUsername(username));
+    }
+
+    /**
+     * Records a newly registered username.
+     *
+     * @param username the username that was persisted
+     */
+    public void recordUsername(String username) {
+        if (username != null) {
+            filter.put(username);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.financemanagement.service;
+
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClient;
+
+import java.math.BigDecimal;
+import java.net.CookieManager;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Warms up a freshly started instance before it reports ready.
+ *
+ * <p>Replays synthetic API traffic over loopback HTTP as a throwaway user: transaction CRUD,
+ * monthly and yearly reports, and savings goals. That compiles the hot paths through the
+ * servlet container, security filters, Jackson, the services and Hibernate, and fills the
+ * connection pool, so the first real users are not served by a cold JVM. The user and its
+ * data are deleted afterwards.
+ *
+ * <p>Application runners complete before Spring Boot publishes {@code ACCEPTING_TRAFFIC}, so
+ * the readiness probe stays {@code REFUSING_TRAFFIC} until {@code app.warmup.iterations}
+ * rounds have run or {@code app.warmup.timeBudget} is spent, whichever comes first. Liveness
+ * is already {@code CORRECT}, so the instance is not restarted meanwhile. A failing request
+ * ends the warm-up early but never fails the startup.
+ *
+ * <p>The replayed traffic would otherwise skew the per-operation latency percentiles. Each
+ * request therefore carries a per-JVM token in the {@link WarmupTraffic#HEADER} header. An
+ * {@code ObservationPredicate} drops the {@code http.server.requests} observation for it, and
+ * with it the trace, so no spans are sampled below it either. The {@code @Timed} aspect skips
+ * {@code service.operation}, and the SQL statement filter and the report and savings goal
+ * counters skip their samples too. Metrics recorded outside a request are unaffected.
+ *
+ * <p>{@code app.warmup.enabled} is read when the runner runs rather than used as a bean
+ * condition, so it can still be switched in an AOT-processed build.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private static final String CATEGORY = "Warm-up";
+    private static final int SEED_TRANSACTIONS = 24;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(5);
+
+    private final ApplicationContext applicationContext;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int iterations;
+    private final Duration timeBudget;
+
+    /**
+     * Constructs a new WarmupRunner.
+     *
+     * @param applicationContext the context, used to find the port of the embedded web server
+     * @param entityManager the entity manager used to delete the throwaway user afterwards
+     * @param transactionManager the transaction manager for the deletion
+     * @param enabled whether to warm up at all
+     * @param iterations the number of request rounds to replay
+     * @param timeBudget the longest the warm-up may delay readiness
+     */
+    public WarmupRunner(ApplicationContext applicationContext,
+                        EntityManager entityManager,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${app.warmup.enabled:false}") boolean enabled,
+                        @Value("${app.warmup.iterations:500}") int iterations,
+                        @Value("${app.warmup.timeBudget:60s}") Duration timeBudget) {
+        this.applicationContext = applicationContext;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.timeBudget = timeBudget;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        if (!(applicationContext instanceof WebServerApplicationContext webContext) || webContext.getWebServer() == null) {
+            logger.info("No embedded web server; skipping warm-up");
+            return;
+        }
+        warmUp(webContext.getWebServer().getPort());
+    }
+
+    /**
+     * Replays the synthetic traffic against the given port and removes the throwaway user.
+     *
+     * @param port the local port of the embedded web server
+     * @return the number of request rounds completed
+     */
+    int warmUp(int port) {
+        long started = System.nanoTime();
+        long deadline = started + timeBudget.toNanos();
+        String username = "warmup-" + UUID.randomUUID() + "@warmup.invalid";
+        String password = UUID.randomUUID().toString();
+        RestClient client = client(port);
+
+        int completed = 0;
+        try {
+            signIn(client, username, password);
+            seed(client);
+            while (completed < iterations && System.nanoTime() < deadline) {
+                replay(client);
+                completed++;
+            }
+        } catch (RuntimeException ex) {
+            logger.warn("Warm-up stopped after {} rounds: {}", completed, ex.getMessage());
+        } finally {
+            deleteUser(username);
+        }
+        logger.info("Warm-up replayed {} of {} rounds in {} ms", completed, iterations,
+                Duration.ofNanos(System.nanoTime() - started).toMillis());
+        return completed;
+    }
+
+    // Bulk deletes, children first, so no cascade has to load the user's rows. The user is
+    // matched by id, because Hibernate cannot clear the transaction_tags collection table of
+    // a bulk delete that joins to users.
+    private void deleteUser(String username) {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("DELETE FROM CategoryClosure c WHERE c.descendantId IN "
+                            + "(SELECT cat.id FROM Category cat WHERE cat.user.username = :username)")
+                    .setParameter("username", username)
+                    .executeUpdate();
+            for (String entity : new String[]{"Transaction", "SavingsGoal", "Category"}) {
+                entityManager.createQuery("DELETE FROM " + entity + " e WHERE e.user.id = "
+                                + "(SELECT u.id FROM User u WHERE u.username = :username)")
+                        .setParameter("username", username)
+                        .executeUpdate();
+            }
+            for (String entity : new String[]{"SyncTombstone", "SyncCursor"}) {
+                entityManager.createQuery("DELETE FROM " + entity + " e WHERE e.userId = "
+                                + "(SELECT u.id FROM User u WHERE u.username = :username)")
+                        .setParameter("username", username)
+                        .executeUpdate();
+            }
+            entityManager.createQuery("DELETE FROM User u WHERE u.username = :username")
+                    .setParameter("username", username)
+                    .executeUpdate();
+        });
+    }
+
+    private void signIn(RestClient client, String username, String password) {
+        client.post().uri("/api/auth/register")
+                .body(Map.of("username", username, "password", password,
+                        "fullName", "Warm-up", "phoneNumber", "0000000000"))
+                .retrieve().toBodilessEntity();
+        client.post().uri("/api/auth/login")
+                .body(Map.of("username", username, "password", password))
+                .retrieve().toBodilessEntity();
+        client.post().uri("/api/categories")
+                .body(Map.of("name", CATEGORY, "type", "EXPENSE"))
+                .retrieve().toBodilessEntity();
+    }
+
+    // A year of rows so the reports have something to aggregate
+    private void seed(RestClient client) {
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < SEED_TRANSACTIONS; i++) {
+            createTransaction(client, today.minusDays(i * 15L));
+        }
+    }
+
+    private void replay(RestClient client) {
+        LocalDate today = LocalDate.now();
+        Object transactionId = createTransaction(client, today).get("id");
+        client.get().uri("/api/transactions").retrieve().toBodilessEntity();
+        client.get().uri("/api/transactions/{id}", transactionId).retrieve().toBodilessEntity();
+        client.put().uri("/api/transactions/{id}", transactionId)
+                .body(Map.of("amount", new BigDecimal("12.50"), "category", CATEGORY, "description", "updated"))
+                .retrieve().toBodilessEntity();
+        client.get().uri("/api/reports/monthly/{year}/{month}", today.getYear(), today.getMonthValue())
+                .retrieve().toBodilessEntity();
+        client.get().uri("/api/reports/yearly/{year}", today.getYear()).retrieve().toBodilessEntity();
+
+        Object goalId = client.post().uri("/api/goals")
+                .body(Map.of("goalName", "Warm-up", "targetAmount", new BigDecimal("1000.00"),
+                        "targetDate", today.plusYears(1).toString()))
+                .retrieve().body(Map.class).get("id");
+        client.get().uri("/api/goals").retrieve().toBodilessEntity();
+        client.get().uri("/api/goals/{id}", goalId).retrieve().toBodilessEntity();
+        client.delete().uri("/api/goals/{id}", goalId).retrieve().toBodilessEntity();
+        client.delete().uri("/api/transactions/{id}", transactionId).retrieve().toBodilessEntity();
+    }
+
+    private Map<?, ?> createTransaction(RestClient client, LocalDate date) {
+        return client.post().uri("/api/transactions")
+                .body(Map.of("amount", new BigDecimal("10.00"), "date", date.toString(),
+                        "category", CATEGORY, "description", "warm-up"))
+                .retrieve().body(Map.class);
+    }
+
+    // The cookie manager keeps the session established by the login
+    private static RestClient client(int port) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(REQUEST_TIMEOUT);
+        return RestClient.builder()
+                .requestFactory(requestFactory)
+                .baseUrl("http://localhost:" + port)
+                .defaultHeaders(headers -> {
+                    headers.setContentType(MediaType.APPLICATION_JSON);
+                    headers.set(WarmupTraffic.HEADER, WarmupTraffic.token());
+                })
+                .build();
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.financemanagement.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.UUID;
+
+/**
+ * Recognises the synthetic requests {@link WarmupRunner} sends, so they can be kept out of
+ * metrics and traces.
+ *
+ * <p>The runner marks each request with the {@link #HEADER} header, carrying a token that is
+ * generated per JVM and never leaves it. A client cannot guess the token, so it cannot hide
+ * its own requests from the dashboards.
+ */
+public final class WarmupTraffic {
+
+    /** The request header that marks warm-up traffic. */
+    public static final String HEADER = "X-Warmup-Token";
+
+    private static final String TOKEN = UUID.randomUUID().toString();
+
+    private WarmupTraffic() {
+    }
+
+    /**
+     * Tells whether a request was sent by the warm-up.
+     *
+     * @param request the request, may be null
+     * @return true if the request carries this JVM's warm-up token
+     */
+    public static boolean isWarmup(HttpServletRequest request) {
+        return request != null && TOKEN.equals(request.getHeader(HEADER));
+    }
+
+    /**
+     * Tells whether the request bound to the current thread was sent by the warm-up.
+     *
+     * @return true if the current thread serves a warm-up request, false outside a request
+     */
+    public static boolean isCurrentRequest() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                && isWarmup(attributes.getRequest());
+    }
+
+    static String token() {
+        return TOKEN;
+    }
+}
@@ -0,0 +1,59 @@
+-- Baseline schema, equivalent to what Hibernate generated from the entity mappings.
+-- Constraint and index names are explicit so later migrations can reference them.
+
+CREATE TABLE users (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    username     VARCHAR(255) NOT NULL,
+    password     VARCHAR(255) NOT NULL,
+    full_name    VARCHAR(255) NOT NULL,
+    phone_number VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username)
+);
+
+-- Rows with a NULL user_id are the shared default category templates.
+CREATE TABLE categories (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name      VARCHAR(255) NOT NULL,
+    type      VARCHAR(255) NOT NULL,
+    is_custom BOOLEAN      NOT NULL,
+    user_id   BIGINT,
+    CONSTRAINT pk_categories PRIMARY KEY (id),
+    CONSTRAINT uk_categories_name_user UNIQUE (name, user_id),
+    CONSTRAINT ck_categories_type CHECK (type IN ('INCOME', 'EXPENSE')),
+    CONSTRAINT fk_categories_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX idx_categories_user ON categories (user_id);
+
+CREATE TABLE transactions (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    amount        NUMERIC(38, 2) NOT NULL,
+    date          DATE           NOT NULL,
+    description   VARCHAR(255),
+    type          VARCHAR(255)   NOT NULL,
+    user_id       BIGINT         NOT NULL,
+    category_id   BIGINT         NOT NULL,
+    category_name VARCHAR(255),
+    CONSTRAINT pk_transactions PRIMARY KEY (id),
+    CONSTRAINT ck_transactions_type CHECK (type IN ('INCOME', 'EXPENSE')),
+    CONSTRAINT fk_transactions_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_transactions_category FOREIGN KEY (category_id) REFERENCES categories (id)
+);
+
+CREATE INDEX idx_transactions_user_date ON transactions (user_id, date);
+CREATE INDEX idx_transactions_user_type_date ON transactions (user_id, type, date);
+CREATE INDEX idx_transactions_category ON transactions (category_id);
+
+CREATE TABLE savings_goals (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    goal_name     VARCHAR(255)   NOT NULL,
+    target_amount NUMERIC(38, 2) NOT NULL,
+    target_date   DATE           NOT NULL,
+    start_date    DATE           NOT NULL,
+    user_id       BIGINT         NOT NULL,
+    CONSTRAINT pk_savings_goals PRIMARY KEY (id),
+    CONSTRAINT fk_savings_goals_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX idx_savings_goals_user ON savings_goals (user_id);
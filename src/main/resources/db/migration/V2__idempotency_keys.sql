@@ -0,0 +1,14 @@
+-- Idempotency keys for POST /api/transactions, shared by all nodes.
+-- transaction_id has no foreign key so deleting a transaction does not have to delete its key.
+
+CREATE TABLE idempotency_keys (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id         BIGINT                      NOT NULL,
+    idempotency_key VARCHAR(255)                NOT NULL,
+    transaction_id  BIGINT                      NOT NULL,
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_idempotency_keys PRIMARY KEY (id),
+    CONSTRAINT uk_idempotency_keys_user_key UNIQUE (user_id, idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys (created_at);
@@ -0,0 +1,30 @@
+-- Change feed for GET /api/sync: a per-user change sequence stamped on every written row,
+-- plus tombstones for deleted rows. Existing rows keep sequence 0 and are only delivered by a
+-- full sync.
+
+ALTER TABLE transactions ADD COLUMN change_seq BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE categories ADD COLUMN change_seq BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE savings_goals ADD COLUMN change_seq BIGINT DEFAULT 0 NOT NULL;
+
+CREATE INDEX idx_transactions_user_change ON transactions (user_id, change_seq);
+CREATE INDEX idx_categories_user_change ON categories (user_id, change_seq);
+CREATE INDEX idx_savings_goals_user_change ON savings_goals (user_id, change_seq);
+
+CREATE TABLE sync_cursors (
+    user_id  BIGINT NOT NULL,
+    last_seq BIGINT NOT NULL,
+    CONSTRAINT pk_sync_cursors PRIMARY KEY (user_id)
+);
+
+CREATE TABLE sync_tombstones (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id     BIGINT       NOT NULL,
+    entity_type VARCHAR(255) NOT NULL,
+    entity_id   BIGINT       NOT NULL,
+    entity_name VARCHAR(255),
+    change_seq  BIGINT       NOT NULL,
+    CONSTRAINT pk_sync_tombstones PRIMARY KEY (id),
+    CONSTRAINT ck_sync_tombstones_entity_type CHECK (entity_type IN ('TRANSACTION', 'CATEGORY', 'GOAL'))
+);
+
+CREATE INDEX idx_sync_tombstones_user_change ON sync_tombstones (user_id, change_seq);
@@ -0,0 +1,9 @@
+-- Free-form tags on transactions, e.g. 'vacation-2024' or 'reimbursable'. Tag filters are
+-- answered from in-memory bitmaps, so the table is only read by transaction id.
+
+CREATE TABLE transaction_tags (
+    transaction_id BIGINT      NOT NULL,
+    tag            VARCHAR(50) NOT NULL,
+    CONSTRAINT pk_transaction_tags PRIMARY KEY (transaction_id, tag),
+    CONSTRAINT fk_transaction_tags_transaction FOREIGN KEY (transaction_id) REFERENCES transactions (id)
+);
@@ -0,0 +1,19 @@
+-- Parent/child categories with a closure table for subtree rollups. Every existing category
+-- becomes a root: its only closure row is the depth-0 row pointing at itself.
+
+ALTER TABLE categories ADD COLUMN parent_id BIGINT;
+ALTER TABLE categories ADD CONSTRAINT fk_categories_parent FOREIGN KEY (parent_id) REFERENCES categories (id);
+
+CREATE INDEX idx_categories_parent ON categories (parent_id);
+
+CREATE TABLE category_closure (
+    ancestor_id   BIGINT  NOT NULL,
+    descendant_id BIGINT  NOT NULL,
+    depth         INTEGER NOT NULL,
+    CONSTRAINT pk_category_closure PRIMARY KEY (ancestor_id, descendant_id)
+);
+
+CREATE INDEX idx_category_closure_descendant ON category_closure (descendant_id, depth);
+
+INSERT INTO category_closure (ancestor_id, descendant_id, depth)
+SELECT id, id, 0 FROM categories;
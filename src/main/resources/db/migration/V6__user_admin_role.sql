@@ -0,0 +1,4 @@
+-- The ADMIN role is stored on the user row. It is granted only by the bulk provisioning call
+-- of an existing admin or by the bootstrap account created at startup, never by registering.
+
+ALTER TABLE users ADD COLUMN admin BOOLEAN DEFAULT FALSE NOT NULL;
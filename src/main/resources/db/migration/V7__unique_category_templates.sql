@@ -0,0 +1,18 @@
+-- uk_categories_name_user does not stop duplicate templates: their user_id is NULL, and NULLs
+-- never collide in a unique constraint. owner_key maps templates to 0 so (name, owner_key)
+-- is unique for templates and user-owned rows alike.
+
+-- Keep the oldest of any duplicate templates seeded concurrently. Templates are never
+-- referenced by transactions or children (users write against their own copies), only by
+-- their depth-0 closure row.
+DELETE FROM category_closure
+WHERE descendant_id IN (SELECT c.id FROM categories c
+                        WHERE c.user_id IS NULL
+                          AND c.id > (SELECT MIN(d.id) FROM categories d WHERE d.user_id IS NULL AND d.name = c.name));
+
+DELETE FROM categories c
+WHERE c.user_id IS NULL
+  AND c.id > (SELECT MIN(d.id) FROM categories d WHERE d.user_id IS NULL AND d.name = c.name);
+
+ALTER TABLE categories ADD COLUMN owner_key BIGINT GENERATED ALWAYS AS (COALESCE(user_id, 0));
+ALTER TABLE categories ADD CONSTRAINT uk_categories_name_owner UNIQUE (name, owner_key);
@@ -71,5 +71,9 @@ class SecurityConfigTest {
 
         mockMvc.perform(get("/h2-console"))
                 .andExpect(status().isNotFound()); // H2 console might not be available in test context
+
+        // Health probes are polled by the platform without credentials
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
     }
 } 
\ No newline at end of file
@@ -3,7 +3,9 @@ package com.example.financemanagement.controller;
 import com.example.financemanagement.dto.UserRegistrationRequest;
 import com.example.financemanagement.entity.User;
 import com.example.financemanagement.exception.ResourceConflictException;
+import com.example.financemanagement.service.LoginThrottleService;
 import com.example.financemanagement.service.UserService;
+import com.example.financemanagement.service.UsernameAvailabilityService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,6 +21,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -33,6 +36,12 @@ class AuthControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private LoginThrottleService loginThrottleService;
+
+    @MockBean
+    private UsernameAvailabilityService usernameAvailabilityService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -125,4 +134,14 @@ class AuthControllerTest {
                 .andExpect(status().isConflict())
                 .andExpect(jsonPath("$.message").value("Username is already taken"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void usernameAvailable_ReturnsFlag() throws Exception {
+        when(usernameAvailabilityService.isAvailable("free@example.com")).thenReturn(true);
+
+        mockMvc.perform(get("/api/auth/username-available").param("username", "free@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("free@example.com"))
+                .andExpect(jsonPath("$.available").value(true));
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.financemanagement.controller;
 
+import com.example.financemanagement.dto.MergePatch;
 import com.example.financemanagement.dto.TransactionRequest;
 import com.example.financemanagement.dto.TransactionResponse;
 import com.example.financemanagement.entity.CategoryType;
@@ -66,7 +67,7 @@ class TransactionControllerTest {
     @Test
     @WithMockUser
     void createTransaction_Success() throws Exception {
-        when(transactionService.createTransaction(any(TransactionRequest.class))).thenReturn(validResponse);
+        when(transactionService.createTransaction(any(TransactionRequest.class), isNull())).thenReturn(validResponse);
 
         mockMvc.perform(post("/api/transactions")
                 .with(csrf())
@@ -117,7 +118,7 @@ class TransactionControllerTest {
     @WithMockUser
     void getTransactions_Success() throws Exception {
         List<TransactionResponse> transactions = Arrays.asList(validResponse);
-        when(transactionService.getTransactions(any(), any(), any())).thenReturn(transactions);
+        when(transactionService.getTransactions(any(), any(), any(), any(), any())).thenReturn(transactions);
 
         mockMvc.perform(get("/api/transactions"))
                 .andExpect(status().isOk())
@@ -129,7 +130,7 @@ class TransactionControllerTest {
     @WithMockUser
     void getTransactions_WithFilters_Success() throws Exception {
         List<TransactionResponse> transactions = Arrays.asList(validResponse);
-        when(transactionService.getTransactions(any(), any(), any())).thenReturn(transactions);
+        when(transactionService.getTransactions(any(), any(), any(), any(), any())).thenReturn(transactions);
 
         mockMvc.perform(get("/api/transactions")
                 .param("startDate", "2024-01-01")
@@ -205,4 +206,27 @@ class TransactionControllerTest {
         mockMvc.perform(get("/api/transactions"))
                 .andExpect(status().isUnauthorized());
     }
-} 
\ No newline at end of file
+
+    @Test
+    @WithMockUser
+    void patchTransaction_MergePatch_Success() throws Exception {
+        when(transactionService.patchTransaction(eq(1L), any(MergePatch.class))).thenReturn(validResponse);
+
+        mockMvc.perform(patch("/api/transactions/1")
+                .with(csrf())
+                .contentType(MergePatch.MEDIA_TYPE)
+                .content("{\"description\":\"Monthly salary\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description").value("Monthly salary"));
+    }
+
+    @Test
+    @WithMockUser
+    void patchTransaction_PlainJson_UnsupportedMediaType() throws Exception {
+        mockMvc.perform(patch("/api/transactions/1")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"description\":\"Monthly salary\"}"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.financemanagement.diagnostics;
+
+import com.example.financemanagement.entity.User;
+import com.example.financemanagement.repository.UserRepository;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class FlightRecordingEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @TempDir
+    private Path tempDir;
+
+    @AfterEach
+    void stopRecording() throws Exception {
+        mockMvc.perform(delete("/actuator/flightrecording").with(user("admin").roles("ADMIN")));
+    }
+
+    @Test
+    void recordingRequiresAdminRole() throws Exception {
+        mockMvc.perform(post("/actuator/flightrecording").with(user("someone@example.com")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/flightrecording").with(user("someone@example.com")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void dumpWithoutRecordingIsNotFound() throws Exception {
+        FlightRecordingEndpoint endpoint = new FlightRecordingEndpoint(Duration.ofMinutes(1), DataSize.ofMegabytes(1));
+        try {
+            assertEquals(404, endpoint.dump().getStatus());
+            assertEquals(404, endpoint.stop().getStatus());
+        } finally {
+            endpoint.close();
+        }
+    }
+
+    @Test
+    void recordingCapturesReportGenerationEvents() throws Exception {
+        User reporter = userRepository.save(new User("jfr@example.com", "secret", "Recorded User", ""));
+
+        mockMvc.perform(post("/actuator/flightrecording").with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"duration\":\"1h\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andExpect(jsonPath("$.duration").value("PT10M"));
+        mockMvc.perform(post("/actuator/flightrecording").with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(get("/api/reports/monthly/2024/1").with(user("jfr@example.com")))
+                .andExpect(status().isOk());
+
+        byte[] recording = mockMvc.perform(get("/actuator/flightrecording").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        Path file = Files.write(tempDir.resolve("recording.jfr"), recording);
+
+        List<RecordedEvent> reports = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("com.example.financemanagement.ReportGeneration"))
+                .toList();
+        assertEquals(1, reports.size());
+        assertEquals(reporter.getId(), reports.get(0).getLong("userId"));
+        assertEquals("monthly", reports.get(0).getString("period"));
+        assertEquals(0, reports.get(0).getInt("rowsAggregated"));
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.financemanagement.diagnostics;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import com.example.financemanagement.entity.SavingsGoal;
+import com.example.financemanagement.entity.User;
+import com.example.financemanagement.repository.SavingsGoalRepository;
+import com.example.financemanagement.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "management.tracing.sampling.probability=1.0")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class LayerTracingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SavingsGoalRepository savingsGoalRepository;
+
+    @Autowired
+    private List<MutableSpan> finishedSpans;
+
+    @BeforeEach
+    void clearSpans() {
+        finishedSpans.clear();
+    }
+
+    @Test
+    void goalRequestRecordsServiceAndRepositorySpansInOneTrace() throws Exception {
+        User owner = userRepository.save(new User("traced@example.com", "secret", "Traced User", ""));
+        SavingsGoal goal = savingsGoalRepository.save(new SavingsGoal("Car", new BigDecimal("5000.00"),
+                LocalDate.now().plusYears(1), LocalDate.now().minusMonths(1), owner));
+        finishedSpans.clear();
+
+        mockMvc.perform(get("/api/goals/" + goal.getId()).with(user("traced@example.com")))
+                .andExpect(status().isOk());
+
+        MutableSpan request = single("http get /api/goals/{id}");
+        MutableSpan service = single("SavingsGoalService.getSavingsGoalById");
+        List<MutableSpan> sums = named("TransactionRepository.calculateTotalAmountByTypeAndDateRange");
+
+        assertEquals(request.id(), service.parentId());
+        assertEquals("service", service.tag("layer"));
+        assertEquals(2, sums.size());
+        sums.forEach(sum -> {
+            assertEquals(service.id(), sum.parentId());
+            assertEquals("repository", sum.tag("layer"));
+            assertTrue(sum.finishTimestamp() >= sum.startTimestamp());
+        });
+        assertEquals("1", single("SavingsGoalRepository.findByIdAndUserId").tag("rows"));
+        assertTrue(finishedSpans.stream().allMatch(span -> span.traceId().equals(request.traceId())));
+        assertTrue(finishedSpans.stream().noneMatch(span -> span.name().startsWith("security")));
+    }
+
+    @Test
+    void callsOutsideARequestAreNotTraced() {
+        userRepository.findByUsername("nobody@example.com");
+
+        assertTrue(finishedSpans.isEmpty());
+    }
+
+    private MutableSpan single(String name) {
+        List<MutableSpan> spans = named(name);
+        assertEquals(1, spans.size(), () -> name + " in " + finishedSpans);
+        return spans.get(0);
+    }
+
+    private List<MutableSpan> named(String name) {
+        return finishedSpans.stream().filter(span -> name.equals(span.name())).toList();
+    }
+
+    @TestConfiguration
+    static class SpanCapture {
+
+        @Bean
+        List<MutableSpan> finishedSpans() {
+            return new CopyOnWriteArrayList<>();
+        }
+
+        @Bean
+        SpanHandler capturingSpanHandler(List<MutableSpan> finishedSpans) {
+            return new SpanHandler() {
+                @Override
+                public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+                    finishedSpans.add(span);
+                    return true;
+                }
+            };
+        }
+    }
+}
@@ -64,7 +64,7 @@ class GlobalExceptionHandlerTest {
     @Test
     @WithMockUser
     void handleResourceConflictException() throws Exception {
-        when(transactionService.createTransaction(any()))
+        when(transactionService.createTransaction(any(), any()))
                 .thenThrow(new ResourceConflictException("Category with this name already exists"));
 
         String requestBody = """
@@ -2,10 +2,15 @@ package com.example.financemanagement.integration;
 
 import com.example.financemanagement.entity.Category;
 import com.example.financemanagement.entity.CategoryType;
+import com.example.financemanagement.entity.SavingsGoal;
+import com.example.financemanagement.entity.Transaction;
 import com.example.financemanagement.entity.User;
 import com.example.financemanagement.repository.CategoryRepository;
+import com.example.financemanagement.repository.SavingsGoalRepository;
+import com.example.financemanagement.repository.TransactionRepository;
 import com.example.financemanagement.repository.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,6 +30,7 @@ import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
 
+import static com.example.financemanagement.integration.SqlStatementBudget.assertStatementsAtMost;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -45,6 +51,15 @@ class IntegrationTests {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private SavingsGoalRepository savingsGoalRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -112,6 +127,40 @@ class IntegrationTests {
                 .andExpect(status().isConflict());
     }
 
+    @Test
+    void bulkUserProvisioning_AdminCreatesUsersAndSkipsExisting() throws Exception {
+        Map<String, Object> body = Map.of("users", java.util.List.of(
+                Map.of("username", "bulk1@example.com", "password", "password123",
+                        "fullName", "Bulk One", "phoneNumber", "+1000000001"),
+                Map.of("username", "bulk2@example.com", "password", "password123",
+                        "fullName", "Bulk Two", "phoneNumber", "+1000000002"),
+                Map.of("username", "test@example.com", "password", "password123",
+                        "fullName", "Existing", "phoneNumber", "+1000000003")));
+
+        mockMvc.perform(post("/api/admin/users/bulk")
+                .with(user("admin@example.com").roles("ADMIN"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.skippedUsernames[0]").value("test@example.com"));
+
+        org.junit.jupiter.api.Assertions.assertTrue(userRepository.findByUsername("bulk2@example.com").isPresent());
+    }
+
+    @Test
+    void bulkUserProvisioning_NonAdmin_Returns403() throws Exception {
+        Map<String, Object> body = Map.of("users", java.util.List.of(
+                Map.of("username", "bulk1@example.com", "password", "password123",
+                        "fullName", "Bulk One", "phoneNumber", "+1000000001")));
+
+        mockMvc.perform(post("/api/admin/users/bulk")
+                .with(user("test@example.com").password("password123"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     void createTransaction_Success() throws Exception {
         Map<String, Object> transactionData = new HashMap<>();
@@ -315,6 +364,42 @@ class IntegrationTests {
                 .andExpect(jsonPath("$.netSavings").exists());
     }
 
+    @Test
+    void getSavingsGoals_TenGoals_StaysWithinStatementBudget() throws Exception {
+        for (int i = 1; i <= 10; i++) {
+            savingsGoalRepository.save(new SavingsGoal("Goal " + i, BigDecimal.valueOf(1000),
+                    LocalDate.now().plusMonths(i), LocalDate.now().minusDays(i), testUser));
+        }
+        Category salary = categoryRepository.findByNameAndUserId("Salary", testUser.getId()).orElseThrow();
+        transactionRepository.save(new Transaction(BigDecimal.valueOf(500), LocalDate.now(), "Pay",
+                CategoryType.INCOME, testUser, salary));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertStatementsAtMost(3, () -> mockMvc.perform(get("/api/goals")
+                .with(user("test@example.com").password("password123"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.goals.length()").value(10));
+    }
+
+    @Test
+    void getMonthlyReport_ManyCategories_StaysWithinStatementBudget() throws Exception {
+        for (String name : new String[]{"Salary", "Food", "Rent", "Transportation", "Entertainment"}) {
+            Category category = categoryRepository.findByNameAndUserId(name, testUser.getId()).orElseThrow();
+            transactionRepository.save(new Transaction(BigDecimal.TEN, LocalDate.now(), name,
+                    category.getType(), testUser, category));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        int currentYear = LocalDate.now().getYear();
+        int currentMonth = LocalDate.now().getMonthValue();
+        assertStatementsAtMost(2, () -> mockMvc.perform(get("/api/reports/monthly/" + currentYear + "/" + currentMonth)
+                .with(user("test@example.com").password("password123"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalExpenses.Food").value(10));
+    }
+
     @Test
     void unauthorizedAccess_Returns401() throws Exception {
         mockMvc.perform(get("/api/transactions"))
@@ -0,0 +1,34 @@
+package com.example.financemanagement.integration;
+
+import com.example.financemanagement.config.SqlStatementCounter;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test support for catching N+1 regressions: fails when a request issues more SQL statements
+ * than its budget. Clear the persistence context first, otherwise entities loaded while setting
+ * up the test hide the statements a real request would issue.
+ *
+ * <pre>
+ *   assertStatementsAtMost(3, () -> mockMvc.perform(get("/api/goals").with(...)))
+ *           .andExpect(status().isOk());
+ * </pre>
+ */
+final class SqlStatementBudget {
+
+    private SqlStatementBudget() {
+    }
+
+    static ResultActions assertStatementsAtMost(int budget, Callable<ResultActions> request) throws Exception {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            ResultActions result = request.call();
+            int issued = scope.count();
+            assertTrue(issued <= budget,
+                    () -> "Expected at most " + budget + " SQL statements but the request issued " + issued);
+            return result;
+        }
+    }
+}
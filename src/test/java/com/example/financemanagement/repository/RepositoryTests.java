@@ -219,6 +219,42 @@ class RepositoryTests {
         assertFalse(found.isPresent());
     }
 
+    @Test
+    void savingsGoalRepository_DeleteByIdAndUserId_OnlyDeletesOwnedRow() {
+        User otherUser = entityManager.persistAndFlush(
+                new User("other@example.com", "password123", "Other User", "+1987654321"));
+
+        assertEquals(0, savingsGoalRepository.deleteByIdAndUserId(testGoal.getId(), otherUser.getId()));
+        assertTrue(savingsGoalRepository.existsById(testGoal.getId()));
+
+        assertEquals(1, savingsGoalRepository.deleteByIdAndUserId(testGoal.getId(), testUser.getId()));
+        assertFalse(savingsGoalRepository.existsById(testGoal.getId()));
+    }
+
+    @Test
+    void transactionRepository_UpdateOwned_KeepsColumnsForNullArguments() {
+        int updated = transactionRepository.updateOwned(
+                testTransaction.getId(), testUser.getId(), new BigDecimal("250.00"), null, 1L);
+
+        assertEquals(1, updated);
+        Transaction reloaded = transactionRepository.findById(testTransaction.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("250.00").compareTo(reloaded.getAmount()));
+        assertEquals("Test transaction", reloaded.getDescription());
+    }
+
+    @Test
+    void transactionRepository_UpdateOwned_IgnoresOtherUsersRow() {
+        User otherUser = entityManager.persistAndFlush(
+                new User("other@example.com", "password123", "Other User", "+1987654321"));
+
+        int updated = transactionRepository.updateOwned(
+                testTransaction.getId(), otherUser.getId(), new BigDecimal("250.00"), "Hijacked", 1L);
+
+        assertEquals(0, updated);
+        Transaction reloaded = transactionRepository.findById(testTransaction.getId()).orElseThrow();
+        assertEquals("Test transaction", reloaded.getDescription());
+    }
+
     @Test
     void repository_CascadeOperations() {
         // Test basic cascade behavior without complex constraints
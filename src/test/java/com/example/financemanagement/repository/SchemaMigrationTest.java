@@ -0,0 +1,53 @@
+package com.example.financemanagement.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Builds the schema from the Flyway migrations, as the prod profile does, and lets Hibernate
+ * validate the entity mappings against it. The context fails to start if a mapping and the
+ * migrations drift apart.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+class SchemaMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrationsApplyCleanly() {
+        Integer failed = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM \"flyway_schema_history\" WHERE \"success\" = FALSE", Integer.class);
+        assertEquals(0, failed);
+    }
+
+    @Test
+    void transactionIndexesAreManagedByMigrations() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_NAME = 'TRANSACTIONS'", String.class);
+
+        assertTrue(indexes.containsAll(List.of(
+                "idx_transactions_user_date", "idx_transactions_user_type_date", "idx_transactions_category")),
+                indexes::toString);
+    }
+
+    @Test
+    void templateNamesAreUnique() {
+        jdbcTemplate.update("INSERT INTO categories (name, type, is_custom, change_seq) VALUES ('Gifts', 'EXPENSE', FALSE, 0)");
+
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "INSERT INTO categories (name, type, is_custom, change_seq) VALUES ('Gifts', 'EXPENSE', FALSE, 0)"));
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.financemanagement.repository;
+
+import com.example.financemanagement.entity.Category;
+import com.example.financemanagement.entity.CategoryType;
+import com.example.financemanagement.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies that category and user lookups are answered from the second-level cache across
+ * transactions, and that writes invalidate what they change. Each lookup runs in its own
+ * transaction so the persistence context cannot serve it instead.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private TransactionTemplate transaction;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        user = transaction.execute(status -> {
+            User saved = userRepository.save(new User("cached@example.com", "secret", "Cached User", "555"));
+            categoryRepository.save(new Category("Groceries", CategoryType.EXPENSE, true, saved));
+            return saved;
+        });
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM idempotency_keys");
+        jdbcTemplate.update("DELETE FROM categories");
+        jdbcTemplate.update("DELETE FROM users");
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    void userLookupByUsernameIsServedFromCache() {
+        transaction.execute(status -> userRepository.findByUsername("cached@example.com"));
+        long statements = statistics.getPrepareStatementCount();
+
+        Optional<User> found = transaction.execute(status -> userRepository.findByUsername("cached@example.com"));
+
+        assertEquals(user.getId(), found.orElseThrow().getId());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getDomainDataRegionStatistics("users").getHitCount() > 0);
+    }
+
+    @Test
+    void unknownUsernameAlwaysReachesDatabase() {
+        assertTrue(transaction.execute(status -> userRepository.findByUsername("late@example.com")).isEmpty());
+        jdbcTemplate.update("INSERT INTO users (username, password, full_name, phone_number) VALUES (?, ?, ?, ?)",
+                "late@example.com", "secret", "Late User", "");
+
+        assertTrue(transaction.execute(status -> userRepository.findByUsername("late@example.com")).isPresent());
+    }
+
+    @Test
+    void categoryQueryIsServedFromCache() {
+        transaction.execute(status -> categoryRepository.findByNameAndUserId("Groceries", user.getId()));
+        long statements = statistics.getPrepareStatementCount();
+
+        Optional<Category> found = transaction.execute(
+                status -> categoryRepository.findByNameAndUserId("Groceries", user.getId()));
+
+        assertEquals("Groceries", found.orElseThrow().getName());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryRegionStatistics("category-queries").getHitCount());
+    }
+
+    @Test
+    void categoryWriteInvalidatesCachedQueries() {
+        assertEquals(1, transaction.execute(status -> categoryRepository.findByUserId(user.getId())).size());
+
+        transaction.executeWithoutResult(status ->
+                categoryRepository.save(new Category("Travel", CategoryType.EXPENSE, true, user)));
+
+        assertEquals(2, transaction.execute(status -> categoryRepository.findByUserId(user.getId())).size());
+    }
+
+    @Test
+    void nativeIdempotencyKeyInsertKeepsOtherRegions() {
+        transaction.execute(status -> userRepository.findByUsername("cached@example.com"));
+
+        transaction.execute(status -> idempotencyKeyRepository.insertIfAbsent(user.getId(), "key", 1L, Instant.now()));
+
+        assertTrue(entityManagerFactory.unwrap(SessionFactory.class).getCache().containsEntity(User.class, user.getId()));
+    }
+}
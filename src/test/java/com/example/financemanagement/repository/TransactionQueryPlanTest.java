@@ -0,0 +1,106 @@
+package com.example.financemanagement.repository;
+
+import com.example.financemanagement.config.SqlStatementCounter;
+import com.example.financemanagement.dto.TransactionFilter;
+import com.example.financemanagement.entity.CategoryType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Query-plan regression tests for the hot {@code transactions} queries. Each test captures the
+ * SQL Hibernate generates for a repository method (through {@link SqlStatementCounter}), runs
+ * H2's {@code EXPLAIN} on it and fails if the plan falls back to a full table scan, e.g.
+ * because an index was dropped from the entity mapping or the JPQL changed.
+ */
+@DataJpaTest
+class TransactionQueryPlanTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 12, 31);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    void findByUserIdAndDateRange_UsesUserDateIndex() {
+        String sql = generatedSql(() -> transactionRepository.findByUserIdAndDateRange(1L, START, END));
+        String plan = explain(sql, 1L, date(START), date(END));
+
+        assertNoTableScan(plan);
+        assertTrue(plan.contains("IDX_TRANSACTIONS_USER_DATE"), plan);
+    }
+
+    @Test
+    void calculateTotalAmountByTypeAndDateRange_UsesUserTypeDateIndex() {
+        String sql = generatedSql(() -> transactionRepository.calculateTotalAmountByTypeAndDateRange(
+                1L, CategoryType.EXPENSE, START, END));
+        String plan = explain(sql, 1L, "EXPENSE", date(START), date(END));
+
+        assertNoTableScan(plan);
+        assertTrue(plan.contains("IDX_TRANSACTIONS_USER_TYPE_DATE"), plan);
+    }
+
+    @Test
+    void existsByCategoryId_UsesCategoryIndex() {
+        String sql = generatedSql(() -> transactionRepository.existsByCategoryId(1L));
+        String plan = explain(sql, 1L, 1);
+
+        assertNoTableScan(plan);
+        assertTrue(plan.contains("IDX_TRANSACTIONS_CATEGORY"), plan);
+    }
+
+    @Test
+    void findTransactionsByFilters_DoesNotScanTransactions() {
+        String sql = generatedSql(() -> transactionRepository.findTransactionsByFilters(1L, START, END, "Food"));
+        String plan = explain(sql, 1L, date(START), date(START), date(END), date(END), "Food", "Food");
+
+        assertNoTableScan(plan);
+    }
+
+    @Test
+    void findByFilter_CategoryClauseUsesIndexes() {
+        TransactionFilter filter = TransactionFilter.parse("type:EXPENSE AND category:Food,Rent AND date>=2024-01-01 AND amount>100");
+        String sql = generatedSql(() -> transactionRepository.findByFilter(1L, filter, null, null, null));
+        // The filter's clauses are bound in canonical order: type, date, category, amount
+        String plan = explain(sql, 1L, "EXPENSE", date(START), 1L, "Food", "Rent", 100);
+
+        assertNoTableScan(plan);
+    }
+
+    /**
+     * Runs the repository call and returns the one statement Hibernate issued for it.
+     */
+    private static String generatedSql(Runnable repositoryCall) {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.record()) {
+            repositoryCall.run();
+            List<String> statements = scope.statements();
+            assertEquals(1, statements.size(), () -> "Expected one statement but got " + statements);
+            return statements.get(0);
+        }
+    }
+
+    private static Date date(LocalDate date) {
+        return Date.valueOf(date);
+    }
+
+    private String explain(String sql, Object... args) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args);
+    }
+
+    private static void assertNoTableScan(String plan) {
+        assertFalse(plan.contains("tableScan"), () -> "Full table scan in plan:\n" + plan);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.financemanagement.service;
+
+import com.example.financemanagement.entity.User;
+import com.example.financemanagement.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminBootstrapRunnerTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private UsernameAvailabilityService usernameAvailabilityService;
+
+    @Test
+    void run_CreatesAdminWhenUsernameIsFree() {
+        when(userRepository.existsByUsername("admin@example.com")).thenReturn(false);
+        when(passwordEncoder.encode("secret123")).thenReturn("hash");
+
+        new AdminBootstrapRunner(userRepository, passwordEncoder, usernameAvailabilityService, "admin@example.com", "secret123").run(null);
+
+        ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+        verify(userRepository).save(saved.capture());
+        assertEquals("admin@example.com", saved.getValue().getUsername());
+        assertEquals("hash", saved.getValue().getPassword());
+        assertTrue(saved.getValue().isAdmin());
+        verify(usernameAvailabilityService).recordUsername("admin@example.com");
+    }
+
+    @Test
+    void run_NeverPromotesAnExistingUser() {
+        when(userRepository.existsByUsername("admin@example.com")).thenReturn(true);
+
+        new AdminBootstrapRunner(userRepository, passwordEncoder, usernameAvailabilityService, "admin@example.com", "secret123").run(null);
+
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void run_DoesNothingWithoutUsername() {
+        new AdminBootstrapRunner(userRepository, passwordEncoder, usernameAvailabilityService, "", "").run(null);
+
+        verifyNoInteractions(userRepository, passwordEncoder);
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.financemanagement.service;
+
+import com.example.financemanagement.entity.User;
+import com.example.financemanagement.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CategoryHierarchyTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        owner = userRepository.save(new User("hierarchy-" + UUID.randomUUID() + "@example.com",
+                "secret", "Hierarchy User", ""));
+        // Food is a default category, so nesting under it copies it for this user
+        createCategory("{\"name\": \"Groceries\", \"parent\": \"Food\"}")
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.type").value("EXPENSE"))
+                .andExpect(jsonPath("$.parent").value("Food"));
+        createCategory("{\"name\": \"Restaurants\", \"type\": \"EXPENSE\", \"parent\": \"Food\"}")
+                .andExpect(status().isCreated());
+        createCategory("{\"name\": \"Takeaway\", \"parent\": \"Restaurants\"}")
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void rollsTotalsUpTheHierarchy() throws Exception {
+        createTransaction("Groceries", "40.00", "2024-03-01");
+        createTransaction("Groceries", "10.00", "2024-03-02");
+        createTransaction("Takeaway", "15.00", "2024-03-03");
+        createTransaction("Restaurants", "30.00", "2024-03-04");
+        createTransaction("Food", "5.00", "2024-03-05");
+        createTransaction("Takeaway", "99.00", "2024-04-01");
+
+        JsonNode expenses = rollup(null).get("expenses");
+        assertEquals(List.of("Food", "Groceries", "Restaurants", "Takeaway"), names(expenses));
+        assertNode(expenses.get(0), null, 0, "100.00", "5.00");
+        assertNode(expenses.get(1), "Food", 1, "50.00", "50.00");
+        assertNode(expenses.get(2), "Food", 1, "45.00", "30.00");
+        assertNode(expenses.get(3), "Restaurants", 2, "15.00", "15.00");
+
+        assertEquals(List.of("Food"), names(rollup(0).get("expenses")));
+        assertEquals(List.of("Food", "Groceries", "Restaurants"), names(rollup(1).get("expenses")));
+    }
+
+    @Test
+    void listsAncestorsOfCategoriesWithTransactions() throws Exception {
+        createTransaction("Takeaway", "12.50", "2024-03-03");
+
+        JsonNode expenses = rollup(null).get("expenses");
+        assertEquals(List.of("Food", "Restaurants", "Takeaway"), names(expenses));
+        assertNode(expenses.get(0), null, 0, "12.50", "0.00");
+        assertEquals(0, rollup(null).get("income").size());
+    }
+
+    @Test
+    void rejectsInvalidHierarchies() throws Exception {
+        createCategory("{\"name\": \"Bonus\", \"type\": \"INCOME\", \"parent\": \"Food\"}")
+                .andExpect(status().isBadRequest());
+        createCategory("{\"name\": \"Orphan\", \"type\": \"EXPENSE\", \"parent\": \"Nowhere\"}")
+                .andExpect(status().isNotFound());
+
+        perform(delete("/api/categories/{name}", "Restaurants"))
+                .andExpect(status().isBadRequest());
+        perform(delete("/api/categories/{name}", "Takeaway"))
+                .andExpect(status().isOk());
+        perform(delete("/api/categories/{name}", "Restaurants"))
+                .andExpect(status().isOk());
+
+        perform(get("/api/reports/categories")
+                .param("startDate", "2024-03-31")
+                .param("endDate", "2024-03-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions createCategory(String json) throws Exception {
+        return perform(post("/api/categories")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json));
+    }
+
+    private void createTransaction(String category, String amount, String date) throws Exception {
+        perform(post("/api/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"amount\": " + amount + ", \"date\": \"" + date + "\", \"category\": \"" + category + "\"}"))
+                .andExpect(status().isCreated());
+    }
+
+    private JsonNode rollup(Integer depth) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/reports/categories")
+                .param("startDate", "2024-03-01")
+                .param("endDate", "2024-03-31");
+        if (depth != null) {
+            request.param("depth", depth.toString());
+        }
+        String body = perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private static List<String> names(JsonNode nodes) {
+        List<String> names = new ArrayList<>();
+        for (JsonNode node : nodes) {
+            names.add(node.get("category").asText());
+        }
+        return names;
+    }
+
+    private static void assertNode(JsonNode node, String parent, int depth, String total, String ownTotal) {
+        assertEquals(parent, node.get("parent").isNull() ? null : node.get("parent").asText());
+        assertEquals(depth, node.get("depth").asInt());
+        assertEquals(0, new BigDecimal(total).compareTo(node.get("total").decimalValue()));
+        assertEquals(0, new BigDecimal(ownTotal).compareTo(node.get("ownTotal").decimalValue()));
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request.with(user(owner.getUsername())).with(csrf()));
+    }
+}
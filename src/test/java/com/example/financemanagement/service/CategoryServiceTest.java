@@ -9,6 +9,7 @@ import com.example.financemanagement.exception.BadRequestException;
 import com.example.financemanagement.exception.ForbiddenException;
 import com.example.financemanagement.exception.ResourceConflictException;
 import com.example.financemanagement.exception.ResourceNotFoundException;
+import com.example.financemanagement.repository.CategoryClosureRepository;
 import com.example.financemanagement.repository.CategoryRepository;
 import com.example.financemanagement.repository.TransactionRepository;
 import com.example.financemanagement.repository.UserRepository;
@@ -18,9 +19,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.Collections;
 import java.util.List;
@@ -28,6 +31,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,9 +43,18 @@ class CategoryServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CategoryClosureRepository categoryClosureRepository;
+
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private ChangeSequence changeSequence;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private CategoryService categoryService;
 
@@ -103,6 +116,65 @@ class CategoryServiceTest {
         verify(categoryRepository, times(1)).delete(category);
     }
 
+    @Test
+    void findAllByCurrentUser_MergesTemplatesWithOwnedCategories() {
+        Category foodTemplate = new Category("Food", CategoryType.EXPENSE, false, null);
+        Category salaryTemplate = new Category("Salary", CategoryType.INCOME, false, null);
+        Category ownedFood = new Category("Food", CategoryType.EXPENSE, false, user);
+        Category hobby = new Category("Hobby", CategoryType.EXPENSE, true, user);
+        when(categoryRepository.findByUserIsNull()).thenReturn(List.of(foodTemplate, salaryTemplate));
+        when(categoryRepository.findByUserId(user.getId())).thenReturn(List.of(ownedFood, hobby));
+
+        List<CategoryResponse> result = categoryService.findAllByCurrentUser();
+
+        assertEquals(3, result.size());
+        assertEquals(1, result.stream().filter(c -> "Food".equals(c.getName())).count());
+        assertTrue(result.stream().anyMatch(c -> "Salary".equals(c.getName())));
+        assertTrue(result.stream().anyMatch(c -> "Hobby".equals(c.getName()) && c.isCustom()));
+    }
+
+    @Test
+    void createCustomCategory_ReadsBackParentCopiedConcurrently() {
+        CreateCategoryRequest request = new CreateCategoryRequest("Groceries", null);
+        request.setParent("Food");
+        Category template = new Category("Food", CategoryType.EXPENSE, false, null);
+        Category winner = new Category("Food", CategoryType.EXPENSE, false, user);
+        winner.setId(7L);
+        when(categoryRepository.findByNameAndUserId("Food", user.getId())).thenReturn(Optional.empty());
+        when(categoryRepository.findByNameAndUserIsNull("Food")).thenReturn(Optional.of(template));
+        when(categoryRepository.save(any(Category.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_categories_name_owner"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(categoryRepository.readByNameAndUserId("Food", user.getId())).thenReturn(Optional.of(winner));
+
+        CategoryResponse result = categoryService.createCustomCategory(request);
+
+        assertEquals(CategoryType.EXPENSE, result.getType());
+        assertEquals("Food", result.getParent());
+        verify(categoryClosureRepository).insertAncestorPaths(any(), eq(7L));
+    }
+
+    @Test
+    void createCustomCategory_Conflict_WithTemplate() {
+        CreateCategoryRequest request = new CreateCategoryRequest();
+        request.setName("Food");
+        request.setType(CategoryType.EXPENSE);
+        when(categoryRepository.existsByNameAndUserId("Food", user.getId())).thenReturn(false);
+        when(categoryRepository.existsByNameAndUserIsNull("Food")).thenReturn(true);
+
+        assertThrows(ResourceConflictException.class, () -> categoryService.createCustomCategory(request));
+        verify(categoryRepository, never()).save(any(Category.class));
+    }
+
+    @Test
+    void deleteCategoryByName_Forbidden_TemplateNotCopied() {
+        when(categoryRepository.findByNameAndUserId("Rent", user.getId())).thenReturn(Optional.empty());
+        when(categoryRepository.existsByNameAndUserIsNull("Rent")).thenReturn(true);
+
+        assertThrows(ForbiddenException.class, () -> categoryService.deleteCategoryByName("Rent"));
+        verify(categoryRepository, never()).delete(any(Category.class));
+    }
+
     @Test
     void deleteCategoryByName_NotFound() {
         when(categoryRepository.findByNameAndUserId("Hobby", user.getId())).thenReturn(Optional.empty());
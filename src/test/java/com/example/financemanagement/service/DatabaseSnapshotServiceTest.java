@@ -0,0 +1,148 @@
+package com.example.financemanagement.service;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.lang.reflect.Constructor;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatabaseSnapshotServiceTest {
+
+    private static final String SCHEMA = "CREATE TABLE users (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+            + "username VARCHAR(255) NOT NULL, balance NUMERIC(38, 2), joined DATE, active BOOLEAN)";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void runsInAnEarlierPhaseThanTheWebServer() throws Exception {
+        // Package-private in Boot; getPhase() reads neither constructor argument
+        Constructor<?> constructor = Class.forName("org.springframework.boot.web.servlet.context.WebServerStartStopLifecycle")
+                .getDeclaredConstructor(ServletWebServerApplicationContext.class, WebServer.class);
+        constructor.setAccessible(true);
+        SmartLifecycle webServer = (SmartLifecycle) constructor.newInstance(null, null);
+
+        assertTrue(DatabaseSnapshotService.PHASE < webServer.getPhase());
+        assertTrue(DatabaseSnapshotService.PHASE < WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE);
+    }
+
+    @Test
+    void stopWritesSnapshotThatStartRestoresIntoFreshDatabase() {
+        Path file = tempDir.resolve("financedb.snapshot");
+        DriverManagerDataSource source = inMemoryDataSource();
+        JdbcTemplate sourceJdbc = new JdbcTemplate(source);
+        sourceJdbc.execute(SCHEMA);
+        sourceJdbc.execute("INSERT INTO users (username, balance, joined, active) "
+                + "SELECT 'user' || X, X * 1.25, DATEADD(DAY, X, DATE '2024-01-01'), MOD(X, 2) = 0 FROM SYSTEM_RANGE(1, 1000)");
+        sourceJdbc.update("UPDATE users SET balance = NULL, joined = NULL, active = NULL WHERE id = 7");
+
+        DatabaseSnapshotService writer = new DatabaseSnapshotService(source, file, source.getUrl());
+        writer.start();
+        writer.stop();
+
+        assertTrue(Files.isRegularFile(file));
+        assertFalse(Files.exists(tempDir.resolve("financedb.snapshot.tmp")));
+
+        DriverManagerDataSource target = inMemoryDataSource();
+        JdbcTemplate targetJdbc = new JdbcTemplate(target);
+        // Stand-in for the empty schema Hibernate generates before the restore runs
+        targetJdbc.execute(SCHEMA);
+        DatabaseSnapshotService reader = new DatabaseSnapshotService(target, file, target.getUrl());
+        reader.start();
+
+        assertTrue(reader.isRunning());
+        assertEquals(1000, targetJdbc.queryForObject("SELECT COUNT(*) FROM users", Integer.class));
+        assertEquals(sourceJdbc.queryForList("SELECT * FROM users ORDER BY id"),
+                targetJdbc.queryForList("SELECT * FROM users ORDER BY id"));
+        targetJdbc.update("INSERT INTO users (username) VALUES ('next')");
+        assertEquals(1001L, targetJdbc.queryForObject("SELECT id FROM users WHERE username = 'next'", Long.class));
+    }
+
+    @Test
+    void restoresEveryMigratedTable() {
+        Path file = tempDir.resolve("financedb.snapshot");
+        DriverManagerDataSource source = migratedDataSource();
+        JdbcTemplate sourceJdbc = new JdbcTemplate(source);
+        sourceJdbc.update("INSERT INTO users (username, password, full_name, phone_number, admin) "
+                + "VALUES ('user@example.com', 'hash', 'User', '', TRUE)");
+        sourceJdbc.update("INSERT INTO categories (name, type, is_custom, user_id, change_seq) VALUES ('Food', 'EXPENSE', FALSE, 1, 1)");
+        sourceJdbc.update("INSERT INTO categories (name, type, is_custom, user_id, change_seq, parent_id) "
+                + "VALUES ('Groceries', 'EXPENSE', TRUE, 1, 2, 1)");
+        sourceJdbc.update("INSERT INTO category_closure (ancestor_id, descendant_id, depth) VALUES (1, 1, 0), (2, 2, 0), (1, 2, 1)");
+        sourceJdbc.update("INSERT INTO transactions (amount, date, description, type, user_id, category_id, category_name, change_seq) "
+                + "VALUES (12.50, DATE '2024-03-01', 'Market', 'EXPENSE', 1, 2, 'Groceries', 3)");
+        sourceJdbc.update("INSERT INTO transaction_tags (transaction_id, tag) VALUES (1, 'weekly')");
+        sourceJdbc.update("INSERT INTO savings_goals (goal_name, target_amount, target_date, start_date, user_id, change_seq) "
+                + "VALUES ('Trip', 1000.00, DATE '2024-12-31', DATE '2024-01-01', 1, 4)");
+        sourceJdbc.update("INSERT INTO idempotency_keys (user_id, idempotency_key, transaction_id, created_at) "
+                + "VALUES (1, 'key-1', 1, TIMESTAMP WITH TIME ZONE '2024-03-01 10:15:30.123456+02:00')");
+        sourceJdbc.update("INSERT INTO sync_cursors (user_id, last_seq) VALUES (1, 5)");
+        sourceJdbc.update("INSERT INTO sync_tombstones (user_id, entity_type, entity_id, entity_name, change_seq) "
+                + "VALUES (1, 'GOAL', 9, 'Old goal', 5)");
+        List<String> tables = sourceJdbc.queryForList("SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES "
+                + "WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_NAME <> 'flyway_schema_history'", String.class);
+        for (String table : tables) {
+            assertTrue(sourceJdbc.queryForObject("SELECT COUNT(*) FROM \"" + table + "\"", Integer.class) > 0,
+                    "No row in " + table + "; add one so the snapshot covers its column types");
+        }
+
+        DatabaseSnapshotService writer = new DatabaseSnapshotService(source, file, source.getUrl());
+        writer.start();
+        writer.stop();
+        DriverManagerDataSource target = migratedDataSource();
+        new DatabaseSnapshotService(target, file, target.getUrl()).start();
+
+        JdbcTemplate targetJdbc = new JdbcTemplate(target);
+        for (String table : tables) {
+            String query = "SELECT * FROM \"" + table + "\" ORDER BY 1, 2";
+            assertEquals(sourceJdbc.queryForList(query), targetJdbc.queryForList(query), table);
+        }
+    }
+
+    @Test
+    void startWithoutSnapshotLeavesDatabaseUntouched() {
+        DriverManagerDataSource dataSource = inMemoryDataSource();
+        new JdbcTemplate(dataSource).execute("CREATE TABLE marker (id INT)");
+
+        DatabaseSnapshotService service = new DatabaseSnapshotService(dataSource, tempDir.resolve("missing.snapshot"), dataSource.getUrl());
+        service.start();
+
+        assertTrue(service.isRunning());
+        assertEquals(0, new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM marker", Integer.class));
+    }
+
+    @Test
+    void fileBackedDatabaseIsNeverSnapshotted() {
+        DriverManagerDataSource dataSource = inMemoryDataSource();
+        Path file = tempDir.resolve("financedb.snapshot");
+
+        DatabaseSnapshotService service = new DatabaseSnapshotService(dataSource, file, "jdbc:h2:file:./data/financedb");
+        service.start();
+        service.scheduledSnapshot();
+        service.stop();
+
+        assertFalse(Files.exists(file));
+    }
+
+    private static DriverManagerDataSource migratedDataSource() {
+        DriverManagerDataSource dataSource = inMemoryDataSource();
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        return dataSource;
+    }
+
+    private static DriverManagerDataSource inMemoryDataSource() {
+        return new DriverManagerDataSource("jdbc:h2:mem:snapshot-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
@@ -4,17 +4,21 @@ import com.example.financemanagement.dto.*;
 import com.example.financemanagement.entity.*;
 import com.example.financemanagement.exception.*;
 import com.example.financemanagement.repository.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -29,6 +33,9 @@ class EnhancedServiceTests {
 
     @Mock
     private UserRepository userRepository;
+
+    @Mock
+    private CategoryClosureRepository categoryClosureRepository;
     @Mock
     private CategoryRepository categoryRepository;
     @Mock
@@ -37,11 +44,29 @@ class EnhancedServiceTests {
     private SavingsGoalRepository savingsGoalRepository;
     @Mock
     private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private UsernameAvailabilityService usernameAvailabilityService;
     @Mock
     private SecurityContext securityContext;
     @Mock
     private Authentication authentication;
 
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private ChangeSequence changeSequence;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TransactionSearchIndex transactionSearchIndex;
+
+    @Mock
+    private TransactionFilterCache transactionFilterCache;
+
     @InjectMocks
     private UserService userService;
     @InjectMocks
@@ -80,15 +105,12 @@ class EnhancedServiceTests {
             return user;
         });
 
-        // Mock category creation for default categories
-        when(categoryRepository.saveAll(anyList())).thenReturn(Collections.emptyList());
-
         User result = userService.registerUser(request);
 
         assertNotNull(result);
         assertEquals("newuser@example.com", result.getUsername());
         verify(userRepository).save(any(User.class));
-        verify(categoryRepository).saveAll(anyList());
+        verify(categoryRepository, never()).saveAll(anyList());
     }
 
     @Test
@@ -272,43 +294,79 @@ class EnhancedServiceTests {
         updateRequest.setCategory("Food");
         updateRequest.setDate(LocalDate.now());
 
-        when(transactionRepository.findById(1L)).thenReturn(Optional.of(existingTransaction));
         when(categoryRepository.findByNameAndUserId("Food", 1L)).thenReturn(Optional.of(category));
-        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(transactionRepository.updateOwnedWithCategory(1L, 1L, new BigDecimal("150.00"), "Updated Description",
+                category, "Food", CategoryType.EXPENSE, 0L)).thenAnswer(invocation -> {
+                    existingTransaction.setAmount(invocation.getArgument(2));
+                    existingTransaction.setDescription(invocation.getArgument(3));
+                    return 1;
+                });
+        when(transactionRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(existingTransaction));
 
         TransactionResponse response = transactionService.updateTransaction(1L, updateRequest);
 
         assertEquals(new BigDecimal("150.00"), response.getAmount());
         assertEquals("Updated Description", response.getDescription());
+        verify(transactionRepository, never()).save(any(Transaction.class));
     }
 
     @Test
-    void userService_createDefaultCategories() {
-        UserRegistrationRequest request = new UserRegistrationRequest();
-        request.setUsername("newuser@example.com");
-        request.setPassword("password123");
-        request.setFullName("New User");
-        request.setPhoneNumber("+1987654321");
+    void transactionService_createTransaction_CopiesTemplateOnFirstWrite() {
+        Category template = new Category("Food", CategoryType.EXPENSE, false, null);
+        TransactionRequest request = new TransactionRequest(new BigDecimal("25.00"), LocalDate.now(), "Food", "Lunch");
 
-        when(userRepository.existsByUsername("newuser@example.com")).thenReturn(false);
-        when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
-            User user = invocation.getArgument(0);
-            user.setId(2L);
-            return user;
-        });
+        when(categoryRepository.findByNameAndUserId("Food", 1L)).thenReturn(Optional.empty());
+        when(categoryRepository.findByNameAndUserIsNull("Food")).thenReturn(Optional.of(template));
+        when(categoryRepository.save(any(Category.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        // Mock category creation - verify 7 default categories are created
-        when(categoryRepository.saveAll(anyList())).thenAnswer(invocation -> {
-            List<Category> categories = invocation.getArgument(0);
-            assertEquals(7, categories.size()); // 1 income + 6 expense categories
-            return categories;
-        });
+        TransactionResponse response = transactionService.createTransaction(request);
 
-        User result = userService.registerUser(request);
+        assertEquals("Food", response.getCategory());
+        verify(categoryRepository).save(argThat(copy -> testUser.equals(copy.getUser())
+                && "Food".equals(copy.getName()) && !copy.isCustom()));
+    }
 
-        assertNotNull(result);
-        verify(categoryRepository).saveAll(anyList());
+    @Test
+    void transactionService_createTransaction_ReadsBackTemplateCopiedConcurrently() {
+        Category template = new Category("Food", CategoryType.EXPENSE, false, null);
+        Category winner = new Category("Food", CategoryType.EXPENSE, false, testUser);
+        TransactionRequest request = new TransactionRequest(new BigDecimal("25.00"), LocalDate.now(), "Food", "Lunch");
+
+        when(categoryRepository.findByNameAndUserId("Food", 1L)).thenReturn(Optional.empty());
+        when(categoryRepository.findByNameAndUserIsNull("Food")).thenReturn(Optional.of(template));
+        when(categoryRepository.save(any(Category.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_categories_name_owner"));
+        when(categoryRepository.readByNameAndUserId("Food", 1L)).thenReturn(Optional.of(winner));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        transactionService.createTransaction(request);
+
+        verify(transactionRepository).save(argThat(transaction -> transaction.getCategory() == winner));
+    }
+
+    @Test
+    void transactionService_patchTransaction_OnlyTouchesChangedFields() throws Exception {
+        Transaction existingTransaction = spy(createTestTransaction("Original Description", new BigDecimal("100.00")));
+        when(transactionRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(existingTransaction));
+
+        MergePatch patch = new MergePatch(new com.fasterxml.jackson.databind.ObjectMapper()
+                .readTree("{\"amount\": 100.0, \"description\": \"Coffee\"}"));
+        TransactionResponse response = transactionService.patchTransaction(1L, patch);
+
+        assertEquals("Coffee", response.getDescription());
+        verify(existingTransaction).setDescription("Coffee");
+        verify(existingTransaction, never()).setAmount(any());
+        verify(transactionRepository, never()).save(any(Transaction.class));
+    }
+
+    @Test
+    void transactionService_patchTransaction_RejectsUnknownField() throws Exception {
+        MergePatch patch = new MergePatch(new com.fasterxml.jackson.databind.ObjectMapper()
+                .readTree("{\"type\": \"INCOME\"}"));
+
+        assertThrows(BadRequestException.class, () -> transactionService.patchTransaction(1L, patch));
+        verify(transactionRepository, never()).findByIdAndUserId(any(), any());
     }
 
     private Transaction createTestTransaction(String description, BigDecimal amount) {
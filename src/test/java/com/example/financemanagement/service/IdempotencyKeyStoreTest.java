@@ -0,0 +1,106 @@
+package com.example.financemanagement.service;
+
+import com.example.financemanagement.entity.Category;
+import com.example.financemanagement.entity.CategoryType;
+import com.example.financemanagement.entity.IdempotencyKey;
+import com.example.financemanagement.entity.User;
+import com.example.financemanagement.repository.CategoryRepository;
+import com.example.financemanagement.repository.IdempotencyKeyRepository;
+import com.example.financemanagement.repository.TransactionRepository;
+import com.example.financemanagement.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class IdempotencyKeyStoreTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User("idempotency-" + UUID.randomUUID() + "@example.com",
+                "secret", "Idempotency User", ""));
+        categoryRepository.save(new Category("Groceries", CategoryType.EXPENSE, true, owner));
+    }
+
+    @Test
+    void retryWithSameKeyReturnsOriginalWithoutSecondInsert() throws Exception {
+        long before = transactionRepository.count();
+
+        JsonNode first = create("retry-key");
+        JsonNode retry = create("retry-key");
+
+        assertEquals(first, retry);
+        assertEquals(before + 1, transactionRepository.count());
+    }
+
+    @Test
+    void keyFirstUsedOnAnotherNodeReturnsThatTransaction() throws Exception {
+        long originalId = create(null).get("id").asLong();
+        idempotencyKeyRepository.save(new IdempotencyKey(owner.getId(), "other-node-key", originalId, Instant.now()));
+        long before = transactionRepository.count();
+
+        JsonNode retry = create("other-node-key");
+
+        assertEquals(originalId, retry.get("id").asLong());
+        assertEquals(before, transactionRepository.count());
+    }
+
+    @Test
+    void blankKeyIsRejected() throws Exception {
+        mockMvc.perform(request(" "))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode create(String key) throws Exception {
+        String body = mockMvc.perform(request(key))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private MockHttpServletRequestBuilder request(String key) {
+        MockHttpServletRequestBuilder request = post("/api/transactions")
+                .with(user(owner.getUsername()))
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"amount\": 42.50, \"date\": \"2024-01-15\", \"category\": \"Groceries\"}");
+        return key == null ? request : request.header("Idempotency-Key", key);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.financemanagement.service;
+
+import com.example.financemanagement.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ThreadPoolTaskExecutor executor;
+    private LoginThrottleService loginThrottleService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.initialize();
+        loginThrottleService = new LoginThrottleService(executor, meterRegistry, 64,
+                3, Duration.ofHours(1), 10, Duration.ofHours(1), Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void checkAttempt_UsernameBucketExhausted_Throttled() {
+        for (int i = 0; i < 3; i++) {
+            loginThrottleService.checkAttempt("user@example.com", "10.0.0." + i);
+        }
+
+        assertThrows(TooManyRequestsException.class,
+                () -> loginThrottleService.checkAttempt("USER@example.com", "10.0.0.99"));
+        assertEquals(1.0, rejected("username"));
+    }
+
+    @Test
+    void checkAttempt_ClientBucketExhausted_Throttled() {
+        for (int i = 0; i < 10; i++) {
+            loginThrottleService.checkAttempt("user" + i + "@example.com", "10.0.0.1");
+        }
+
+        assertThrows(TooManyRequestsException.class,
+                () -> loginThrottleService.checkAttempt("other@example.com", "10.0.0.1"));
+        assertEquals(1.0, rejected("client"));
+    }
+
+    @Test
+    void tokenBucket_RefillsOverTime() {
+        long[] now = {0L};
+        TokenBucketStripes buckets = new TokenBucketStripes(16, 2, 100L, () -> now[0]);
+
+        assertTrue(buckets.tryAcquire("key"));
+        assertTrue(buckets.tryAcquire("key"));
+        assertFalse(buckets.tryAcquire("key"));
+
+        now[0] = 100L;
+        assertTrue(buckets.tryAcquire("key"));
+        assertFalse(buckets.tryAcquire("key"));
+        assertEquals(16, buckets.stripes());
+    }
+
+    @Test
+    void authenticate_Success_ReturnsAuthentication() {
+        Authentication authenticated = new UsernamePasswordAuthenticationToken("user", null, Collections.emptyList());
+        AuthenticationManager manager = token -> authenticated;
+
+        Authentication result = loginThrottleService.authenticate(manager,
+                new UsernamePasswordAuthenticationToken("user", "password"));
+
+        assertSame(authenticated, result);
+    }
+
+    @Test
+    void authenticate_BadCredentials_Propagated() {
+        AuthenticationManager manager = token -> {
+            throw new BadCredentialsException("Bad credentials");
+        };
+
+        assertThrows(BadCredentialsException.class, () -> loginThrottleService.authenticate(manager,
+                new UsernamePasswordAuthenticationToken("user", "wrong")));
+    }
+
+    @Test
+    void authenticate_ExecutorSaturated_Throttled() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        started.await(5, TimeUnit.SECONDS);
+        executor.execute(() -> awaitQuietly(release));
+
+        try {
+            assertThrows(TooManyRequestsException.class, () -> loginThrottleService.authenticate(
+                    token -> token, new UsernamePasswordAuthenticationToken("user", "password")));
+            assertEquals(1.0, rejected("hashing_saturated"));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("auth.login.rejected").tag("reason", reason).counter().count();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -6,13 +6,16 @@ import com.example.financemanagement.entity.Category;
 import com.example.financemanagement.entity.CategoryType;
 import com.example.financemanagement.entity.Transaction;
 import com.example.financemanagement.entity.User;
+import com.example.financemanagement.repository.CategoryClosureRepository;
 import com.example.financemanagement.repository.TransactionRepository;
 import com.example.financemanagement.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
@@ -39,6 +42,12 @@ class ReportServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CategoryClosureRepository categoryClosureRepository;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private ReportService reportService;
 
@@ -85,6 +94,7 @@ class ReportServiceTest {
         assertEquals(0, new BigDecimal("400").compareTo(report.getTotalExpenses().get("Food")));
         assertEquals(0, new BigDecimal("1200").compareTo(report.getTotalExpenses().get("Rent")));
         assertEquals(0, new BigDecimal("1900").compareTo(report.getNetSavings()));
+        assertEquals(4.0, meterRegistry.counter("report.transactions.scanned", "period", "monthly").count());
     }
 
     @Test
@@ -1,20 +1,25 @@
 package com.example.financemanagement.service;
 
+import com.example.financemanagement.dto.MergePatch;
 import com.example.financemanagement.dto.SavingsGoalRequest;
 import com.example.financemanagement.dto.SavingsGoalResponse;
 import com.example.financemanagement.dto.SavingsGoalUpdateRequest;
 import com.example.financemanagement.entity.CategoryType;
 import com.example.financemanagement.entity.SavingsGoal;
 import com.example.financemanagement.entity.User;
+import com.example.financemanagement.exception.BadRequestException;
 import com.example.financemanagement.exception.ForbiddenException;
 import com.example.financemanagement.repository.SavingsGoalRepository;
 import com.example.financemanagement.repository.TransactionRepository;
 import com.example.financemanagement.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
@@ -40,6 +45,12 @@ class SavingsGoalServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private ChangeSequence changeSequence;
+
     @InjectMocks
     private SavingsGoalService savingsGoalService;
 
@@ -91,9 +102,25 @@ class SavingsGoalServiceTest {
         assertEquals(1, result.size());
     }
 
+    @Test
+    void getAllSavingsGoals_UsesOneProgressAggregateForAllGoals() {
+        SavingsGoalRepository.GoalProgress progress = mock(SavingsGoalRepository.GoalProgress.class);
+        when(progress.getGoalId()).thenReturn(goal.getId());
+        when(progress.getProgress()).thenReturn(BigDecimal.valueOf(500));
+        when(savingsGoalRepository.findProgressByUserId(eq(user.getId()), any())).thenReturn(List.of(progress));
+        when(savingsGoalRepository.findByUserId(user.getId())).thenReturn(Collections.singletonList(goal));
+
+        List<SavingsGoalResponse> result = savingsGoalService.getAllSavingsGoals();
+
+        assertEquals(0, BigDecimal.valueOf(500).compareTo(result.get(0).getCurrentProgress()));
+        assertEquals(25.0, result.get(0).getProgressPercentage());
+        verifyNoInteractions(transactionRepository);
+        assertEquals(1.0, meterRegistry.counter("savings.goals.evaluated").count());
+    }
+
     @Test
     void getSavingsGoalById_Success() {
-        when(savingsGoalRepository.findById(goal.getId())).thenReturn(Optional.of(goal));
+        when(savingsGoalRepository.findByIdAndUserId(goal.getId(), user.getId())).thenReturn(Optional.of(goal));
 
         SavingsGoalResponse result = savingsGoalService.getSavingsGoalById(goal.getId());
 
@@ -107,7 +134,8 @@ class SavingsGoalServiceTest {
         otherUser.setId(2L);
         goal.setUser(otherUser);
 
-        when(savingsGoalRepository.findById(goal.getId())).thenReturn(Optional.of(goal));
+        when(savingsGoalRepository.findByIdAndUserId(goal.getId(), user.getId())).thenReturn(Optional.empty());
+        when(savingsGoalRepository.existsById(goal.getId())).thenReturn(true);
 
         assertThrows(ForbiddenException.class, () -> savingsGoalService.getSavingsGoalById(goal.getId()));
     }
@@ -117,23 +145,69 @@ class SavingsGoalServiceTest {
         SavingsGoalUpdateRequest request = new SavingsGoalUpdateRequest();
         request.setTargetAmount(BigDecimal.valueOf(2500));
 
-        when(savingsGoalRepository.findById(goal.getId())).thenReturn(Optional.of(goal));
-        when(savingsGoalRepository.save(any(SavingsGoal.class))).thenReturn(goal);
+        when(savingsGoalRepository.updateOwned(goal.getId(), user.getId(), request.getTargetAmount(), null, 0L))
+                .thenAnswer(invocation -> {
+                    goal.setTargetAmount(request.getTargetAmount());
+                    return 1;
+                });
+        when(savingsGoalRepository.findByIdAndUserId(goal.getId(), user.getId())).thenReturn(Optional.of(goal));
 
         SavingsGoalResponse result = savingsGoalService.updateSavingsGoal(goal.getId(), request);
 
         assertNotNull(result);
         assertEquals(0, BigDecimal.valueOf(2500).compareTo(result.getTargetAmount()));
+        verify(savingsGoalRepository, never()).save(any(SavingsGoal.class));
     }
 
     @Test
-    void deleteSavingsGoal_Success() {
+    void updateSavingsGoal_Forbidden() {
+        SavingsGoalUpdateRequest request = new SavingsGoalUpdateRequest();
+        request.setTargetAmount(BigDecimal.valueOf(2500));
+
+        when(savingsGoalRepository.updateOwned(goal.getId(), user.getId(), request.getTargetAmount(), null, 0L)).thenReturn(0);
         when(savingsGoalRepository.existsById(goal.getId())).thenReturn(true);
-        when(savingsGoalRepository.findById(goal.getId())).thenReturn(Optional.of(goal));
-        doNothing().when(savingsGoalRepository).deleteById(goal.getId());
-        
+
+        assertThrows(ForbiddenException.class, () -> savingsGoalService.updateSavingsGoal(goal.getId(), request));
+    }
+
+    @Test
+    void deleteSavingsGoal_Success() {
+        when(savingsGoalRepository.deleteByIdAndUserId(goal.getId(), user.getId())).thenReturn(1);
+
         assertDoesNotThrow(() -> savingsGoalService.deleteSavingsGoal(goal.getId()));
 
-        verify(savingsGoalRepository, times(1)).deleteById(goal.getId());
+        verify(savingsGoalRepository, times(1)).deleteByIdAndUserId(goal.getId(), user.getId());
+        verify(savingsGoalRepository, never()).existsById(any());
+    }
+
+    @Test
+    void deleteSavingsGoal_Forbidden() {
+        when(savingsGoalRepository.deleteByIdAndUserId(goal.getId(), user.getId())).thenReturn(0);
+        when(savingsGoalRepository.existsById(goal.getId())).thenReturn(true);
+
+        assertThrows(ForbiddenException.class, () -> savingsGoalService.deleteSavingsGoal(goal.getId()));
+    }
+
+    @Test
+    void patchSavingsGoal_NoOpPatch_LeavesEntityClean() throws Exception {
+        SavingsGoal managed = spy(goal);
+        when(savingsGoalRepository.findByIdAndUserId(goal.getId(), user.getId())).thenReturn(Optional.of(managed));
+
+        MergePatch patch = new MergePatch(new ObjectMapper().readTree(
+                "{\"goalName\": \"Vacation\", \"targetAmount\": 2000.00}"));
+        SavingsGoalResponse result = savingsGoalService.patchSavingsGoal(goal.getId(), patch);
+
+        assertEquals("Vacation", result.getGoalName());
+        verify(managed, never()).setGoalName(any());
+        verify(managed, never()).setTargetAmount(any());
+        verify(savingsGoalRepository, never()).save(any(SavingsGoal.class));
+    }
+
+    @Test
+    void patchSavingsGoal_RemovingRequiredField_BadRequest() throws Exception {
+        MergePatch patch = new MergePatch(new ObjectMapper().readTree("{\"targetAmount\": null}"));
+        when(savingsGoalRepository.findByIdAndUserId(goal.getId(), user.getId())).thenReturn(Optional.of(goal));
+
+        assertThrows(BadRequestException.class, () -> savingsGoalService.patchSavingsGoal(goal.getId(), patch));
     }
-} 
\ No newline at end of file
+}
@@ -4,17 +4,20 @@ import com.example.financemanagement.dto.*;
 import com.example.financemanagement.entity.*;
 import com.example.financemanagement.exception.*;
 import com.example.financemanagement.repository.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -29,6 +32,9 @@ class ServiceEdgeCaseTests {
 
     @Mock
     private UserRepository userRepository;
+
+    @Mock
+    private CategoryClosureRepository categoryClosureRepository;
     @Mock
     private CategoryRepository categoryRepository;
     @Mock
@@ -42,6 +48,15 @@ class ServiceEdgeCaseTests {
     @Mock
     private Authentication authentication;
 
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private ChangeSequence changeSequence;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private CategoryService categoryService;
     @InjectMocks
@@ -113,7 +128,7 @@ class ServiceEdgeCaseTests {
         SavingsGoalUpdateRequest request = new SavingsGoalUpdateRequest();
         request.setTargetAmount(new BigDecimal("6000.00"));
 
-        when(savingsGoalRepository.findByIdAndUserId(999L, 1L)).thenReturn(Optional.empty());
+        when(savingsGoalRepository.updateOwned(999L, 1L, request.getTargetAmount(), null, 0L)).thenReturn(0);
 
         assertThrows(ResourceNotFoundException.class, 
                 () -> savingsGoalService.updateSavingsGoal(999L, request));
@@ -121,7 +136,7 @@ class ServiceEdgeCaseTests {
 
     @Test
     void savingsGoalService_deleteSavingsGoal_NotFound() {
-        when(savingsGoalRepository.findByIdAndUserId(999L, 1L)).thenReturn(Optional.empty());
+        when(savingsGoalRepository.deleteByIdAndUserId(999L, 1L)).thenReturn(0);
 
         assertThrows(ResourceNotFoundException.class, 
                 () -> savingsGoalService.deleteSavingsGoal(999L));
@@ -0,0 +1,155 @@
+package com.example.financemanagement.service;
+
+import com.example.financemanagement.entity.Category;
+import com.example.financemanagement.entity.CategoryType;
+import com.example.financemanagement.entity.User;
+import com.example.financemanagement.repository.CategoryRepository;
+import com.example.financemanagement.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SyncServiceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ChangeSequence changeSequence;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User("sync-" + UUID.randomUUID() + "@example.com",
+                "secret", "Sync User", ""));
+        categoryRepository.save(new Category("Groceries", CategoryType.EXPENSE, true, owner));
+    }
+
+    @Test
+    void deltaContainsOnlyChangesSinceToken() throws Exception {
+        long first = createTransaction().get("id").asLong();
+
+        JsonNode full = sync(null);
+        assertTrue(full.get("full").asBoolean());
+        assertEquals(1, full.get("transactions").size());
+        assertTrue(full.get("categories").size() > 1, "default categories are part of a full sync");
+
+        long second = createTransaction().get("id").asLong();
+        perform(delete("/api/transactions/{id}", first)).andExpect(status().isOk());
+
+        JsonNode delta = sync(full.get("token").asText());
+        assertFalse(delta.get("full").asBoolean());
+        assertEquals(1, delta.get("transactions").size());
+        assertEquals(second, delta.get("transactions").get(0).get("id").asLong());
+        assertEquals(1, delta.get("deleted").size());
+        assertEquals("TRANSACTION", delta.get("deleted").get(0).get("type").asText());
+        assertEquals(first, delta.get("deleted").get(0).get("id").asLong());
+        assertTrue(delta.get("categories").isEmpty());
+
+        JsonNode unchanged = sync(delta.get("token").asText());
+        assertEquals(delta.get("token"), unchanged.get("token"));
+        assertTrue(unchanged.get("transactions").isEmpty());
+        assertTrue(unchanged.get("deleted").isEmpty());
+        assertTrue(unchanged.get("goals").isEmpty());
+    }
+
+    @Test
+    void malformedTokenIsRejected() throws Exception {
+        perform(get("/api/sync").param("since", "yesterday"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void concurrentFirstWritesBothGetASequence() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch firstHasSequence = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        CompletableFuture<Long> first = CompletableFuture.supplyAsync(() -> transaction.execute(status -> {
+            long sequence = changeSequence.next(owner.getId());
+            firstHasSequence.countDown();
+            await(releaseFirst);
+            return sequence;
+        }));
+        firstHasSequence.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Long> second = CompletableFuture.supplyAsync(
+                () -> transaction.execute(status -> changeSequence.next(owner.getId())));
+        // Let the second transaction reach the cursor row while the first still holds it
+        Thread.sleep(200);
+        releaseFirst.countDown();
+
+        assertEquals(1L, first.get(5, TimeUnit.SECONDS));
+        assertEquals(2L, second.get(5, TimeUnit.SECONDS));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private JsonNode createTransaction() throws Exception {
+        String body = perform(post("/api/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"amount\": 42.50, \"date\": \"2024-01-15\", \"category\": \"Groceries\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private JsonNode sync(String since) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/sync");
+        if (since != null) {
+            request.param("since", since);
+        }
+        String body = perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request.with(user(owner.getUsername())).with(csrf()));
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.financemanagement.service;
+
+import com.example.financemanagement.dto.TransactionFilter;
+import com.example.financemanagement.entity.Category;
+import com.example.financemanagement.entity.CategoryType;
+import com.example.financemanagement.entity.User;
+import com.example.financemanagement.exception.BadRequestException;
+import com.example.financemanagement.repository.CategoryRepository;
+import com.example.financemanagement.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TransactionFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionFilterCache transactionFilterCache;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        owner = userRepository.save(new User("filter-" + UUID.randomUUID() + "@example.com",
+                "secret", "Filter User", ""));
+        categoryRepository.save(new Category("Groceries", CategoryType.EXPENSE, true, owner));
+        categoryRepository.save(new Category("Dining Out", CategoryType.EXPENSE, true, owner));
+        categoryRepository.save(new Category("Paycheck", CategoryType.INCOME, true, owner));
+        createTransaction("40.00", "2023-12-30", "Groceries");
+        createTransaction("150.00", "2024-01-10", "Groceries");
+        createTransaction("120.00", "2024-02-01", "Dining Out");
+        createTransaction("2500.00", "2024-02-01", "Paycheck");
+    }
+
+    @Test
+    void combinesClausesOverAmountTypeCategoryAndDate() throws Exception {
+        assertEquals(List.of("120.00", "150.00"),
+                amounts("amount>100 AND type:EXPENSE AND category:Groceries,\"Dining Out\" AND date>=2024-01-01"));
+        assertEquals(List.of("2500.00"), amounts("type:income"));
+        assertEquals(List.of("2500.00", "150.00", "40.00"), amounts("category!=\"Dining Out\""));
+        assertEquals(List.of(), amounts("category:Unknown"));
+    }
+
+    @Test
+    void legacyParametersNarrowTheFilter() throws Exception {
+        JsonNode body = list(get("/api/transactions")
+                .param("filter", "type:EXPENSE")
+                .param("startDate", "2024-01-01")
+                .param("category", "Groceries"));
+
+        assertEquals(1, body.get("transactions").size());
+        assertEquals("150.0", body.get("transactions").get(0).get("amount").asText());
+    }
+
+    @Test
+    void malformedFiltersAreRejected() throws Exception {
+        for (String filter : new String[]{"amount>>1", "colour:red", "type>EXPENSE", "date<yesterday",
+                "amount:1,2", "category:\"Groceries", "type:EXPENSE AND", "amount>1 OR amount<0"}) {
+            perform(get("/api/transactions").param("filter", filter))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    void equivalentExpressionsShareOneParsedFilter() {
+        TransactionFilter filter = transactionFilterCache.get("type:EXPENSE and amount > 100");
+
+        assertSame(filter, transactionFilterCache.get("  type:EXPENSE   and amount > 100 "));
+        assertEquals("type=EXPENSE AND amount>100", filter.toString());
+        assertEquals(filter.predicate(), TransactionFilter.parse("type:INCOME AND amount>5").predicate());
+        assertThrows(BadRequestException.class, () -> TransactionFilter.parse("x".repeat(TransactionFilter.MAX_LENGTH + 1)));
+    }
+
+    private List<String> amounts(String filter) throws Exception {
+        List<String> amounts = new ArrayList<>();
+        for (JsonNode transaction : list(get("/api/transactions").param("filter", filter)).get("transactions")) {
+            amounts.add(transaction.get("amount").decimalValue().setScale(2).toPlainString());
+        }
+        return amounts;
+    }
+
+    private JsonNode list(MockHttpServletRequestBuilder request) throws Exception {
+        String body = perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private void createTransaction(String amount, String date, String category) throws Exception {
+        perform(post("/api/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"amount\": " + amount + ", \"date\": \"" + date + "\", \"category\": \"" + category + "\"}"))
+                .andExpect(status().isCreated());
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request.with(user(owner.getUsername())).with(csrf()));
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.financemanagement.service;
+
+import com.example.financemanagement.entity.Category;
+import com.example.financemanagement.entity.CategoryType;
+import com.example.financemanagement.entity.Transaction;
+import com.example.financemanagement.entity.User;
+import com.example.financemanagement.repository.CategoryRepository;
+import com.example.financemanagement.repository.TransactionRepository;
+import com.example.financemanagement.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.search.maxResults=2")
+@AutoConfigureMockMvc
+class TransactionSearchIndexTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ChangeSequence changeSequence;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User owner;
+    private Category groceries;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User("search-" + UUID.randomUUID() + "@example.com",
+                "secret", "Search User", ""));
+        groceries = categoryRepository.save(new Category("Groceries", CategoryType.EXPENSE, true, owner));
+    }
+
+    @Test
+    void matchesEveryQueryWordAsPrefix() throws Exception {
+        long market = create("Weekly shop at the Market");
+        long coffee = create("Coffee beans");
+
+        assertEquals(List.of(coffee, market), search("groc"));
+        assertEquals(List.of(market), search("MARK week"));
+        assertEquals(List.of(coffee), search("coffee-bea"));
+        assertEquals(List.of(), search("coffee market"));
+    }
+
+    @Test
+    void followsUpdatesAndDeletes() throws Exception {
+        long id = create("Cinema tickets");
+        assertEquals(List.of(id), search("cinema"));
+
+        perform(patch("/api/transactions/{id}", id)
+                .contentType("application/merge-patch+json")
+                .content("{\"description\": \"Theatre tickets\"}"))
+                .andExpect(status().isOk());
+        assertEquals(List.of(), search("cinema"));
+        assertEquals(List.of(id), search("theat"));
+
+        perform(delete("/api/transactions/{id}", id)).andExpect(status().isOk());
+        assertEquals(List.of(), search("theat"));
+    }
+
+    @Test
+    void picksUpRowsWrittenByAnotherNode() throws Exception {
+        create("Bakery");
+        assertEquals(1, search("bakery").size());
+
+        // Written without TransactionService, as another node would
+        Long id = new TransactionTemplate(transactionManager).execute(status -> {
+            Transaction transaction = new Transaction(new BigDecimal("3.20"), LocalDate.of(2024, 1, 16),
+                    "Bakery rolls", CategoryType.EXPENSE, owner, groceries);
+            transaction.setChangeSeq(changeSequence.next(owner.getId()));
+            return transactionRepository.save(transaction).getId();
+        });
+
+        assertEquals(2, search("bakery").size());
+        assertEquals(List.of(id), search("rolls"));
+    }
+
+    @Test
+    void keepsTheNewestDatesWhenCappingResults() throws Exception {
+        long march = create("Rent March", "2024-03-01");
+        long april = create("Rent April", "2024-04-01");
+        create("Rent January", "2024-01-01");
+
+        assertEquals(List.of(april, march), search("rent"));
+    }
+
+    @Test
+    void queryWithoutWordsIsRejected() throws Exception {
+        perform(get("/api/transactions/search").param("q", " -- "))
+                .andExpect(status().isBadRequest());
+    }
+
+    private long create(String description) throws Exception {
+        return create(description, "2024-01-15");
+    }
+
+    private long create(String description, String date) throws Exception {
+        String body = perform(post("/api/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of(
+                        "amount", 9.99, "date", date, "category", "Groceries", "description", description))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private List<Long> search(String query) throws Exception {
+        String body = perform(get("/api/transactions/search").param("q", query))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode transaction : objectMapper.readTree(body).get("transactions")) {
+            ids.add(transaction.get("id").asLong());
+        }
+        return ids;
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request.with(user(owner.getUsername())).with(csrf()));
+    }
+}
@@ -8,6 +8,7 @@ import com.example.financemanagement.entity.Transaction;
 import com.example.financemanagement.entity.User;
 import com.example.financemanagement.exception.ForbiddenException;
 import com.example.financemanagement.exception.ResourceNotFoundException;
+import com.example.financemanagement.repository.CategoryClosureRepository;
 import com.example.financemanagement.repository.CategoryRepository;
 import com.example.financemanagement.repository.TransactionRepository;
 import com.example.financemanagement.repository.UserRepository;
@@ -20,6 +21,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -43,12 +45,27 @@ class TransactionServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CategoryClosureRepository categoryClosureRepository;
+
     @Mock
     private SecurityContext securityContext;
 
     @Mock
     private Authentication authentication;
 
+    @Mock
+    private ChangeSequence changeSequence;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TransactionSearchIndex transactionSearchIndex;
+
+    @Mock
+    private TransactionFilterCache transactionFilterCache;
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -167,7 +184,7 @@ class TransactionServiceTest {
     @Test
     void getTransactionById_Success() {
         // Arrange
-        when(transactionRepository.findById(1L)).thenReturn(Optional.of(testTransaction));
+        when(transactionRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testTransaction));
 
         // Act
         TransactionResponse result = transactionService.getTransactionById(1L);
@@ -175,20 +192,20 @@ class TransactionServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(testTransaction.getId(), result.getId());
-        verify(transactionRepository).findById(1L);
+        verify(transactionRepository).findByIdAndUserId(1L, 1L);
     }
 
     @Test
     void getTransactionById_NotFound() {
         // Arrange
-        when(transactionRepository.findById(1L)).thenReturn(Optional.empty());
+        when(transactionRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
 
         // Act & Assert
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
                 () -> transactionService.getTransactionById(1L));
 
         assertEquals("Transaction not found with id: 1", exception.getMessage());
-        verify(transactionRepository).findById(1L);
+        verify(transactionRepository).findByIdAndUserId(1L, 1L);
     }
 
     @Test
@@ -198,22 +215,24 @@ class TransactionServiceTest {
         otherUser.setId(2L);
         testTransaction.setUser(otherUser);
 
-        when(transactionRepository.findById(1L)).thenReturn(Optional.of(testTransaction));
+        when(transactionRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
+        when(transactionRepository.existsById(1L)).thenReturn(true);
 
         // Act & Assert
         ForbiddenException exception = assertThrows(ForbiddenException.class,
                 () -> transactionService.getTransactionById(1L));
 
         assertEquals("You are not authorized to view this transaction.", exception.getMessage());
-        verify(transactionRepository).findById(1L);
+        verify(transactionRepository).findByIdAndUserId(1L, 1L);
     }
 
     @Test
     void updateTransaction_Success() {
         // Arrange
-        when(transactionRepository.findById(1L)).thenReturn(Optional.of(testTransaction));
         when(categoryRepository.findByNameAndUserId("Food", 1L)).thenReturn(Optional.of(testCategory));
-        when(transactionRepository.save(any(Transaction.class))).thenReturn(testTransaction);
+        when(transactionRepository.updateOwnedWithCategory(1L, 1L, new BigDecimal("1500.00"), "Updated description",
+                testCategory, testCategory.getName(), testCategory.getType(), 0L)).thenReturn(1);
+        when(transactionRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testTransaction));
 
         TransactionRequest updateRequest = new TransactionRequest();
         updateRequest.setAmount(new BigDecimal("1500.00"));
@@ -225,14 +244,15 @@ class TransactionServiceTest {
 
         // Assert
         assertNotNull(result);
-        verify(transactionRepository).findById(1L);
-        verify(transactionRepository).save(testTransaction);
+        verify(transactionRepository).updateOwnedWithCategory(1L, 1L, new BigDecimal("1500.00"), "Updated description",
+                testCategory, testCategory.getName(), testCategory.getType(), 0L);
+        verify(transactionRepository, never()).save(any());
     }
 
     @Test
     void updateTransaction_NotFound() {
         // Arrange
-        when(transactionRepository.findById(1L)).thenReturn(Optional.empty());
+        when(transactionRepository.updateOwned(1L, 1L, new BigDecimal("1500.00"), null, 0L)).thenReturn(0);
 
         TransactionRequest updateRequest = new TransactionRequest();
         updateRequest.setAmount(new BigDecimal("1500.00"));
@@ -242,18 +262,14 @@ class TransactionServiceTest {
                 () -> transactionService.updateTransaction(1L, updateRequest));
 
         assertEquals("Transaction not found with id: 1", exception.getMessage());
-        verify(transactionRepository).findById(1L);
-        verify(transactionRepository, never()).save(any());
+        verify(transactionRepository).existsById(1L);
     }
 
     @Test
     void updateTransaction_Forbidden() {
         // Arrange
-        User otherUser = new User("other@example.com", "password", "Other User", "+1234567890");
-        otherUser.setId(2L);
-        testTransaction.setUser(otherUser);
-
-        when(transactionRepository.findById(1L)).thenReturn(Optional.of(testTransaction));
+        when(transactionRepository.updateOwned(1L, 1L, new BigDecimal("1500.00"), null, 0L)).thenReturn(0);
+        when(transactionRepository.existsById(1L)).thenReturn(true);
 
         TransactionRequest updateRequest = new TransactionRequest();
         updateRequest.setAmount(new BigDecimal("1500.00"));
@@ -263,15 +279,14 @@ class TransactionServiceTest {
                 () -> transactionService.updateTransaction(1L, updateRequest));
 
         assertEquals("You are not authorized to update this transaction.", exception.getMessage());
-        verify(transactionRepository).findById(1L);
-        verify(transactionRepository, never()).save(any());
+        verify(transactionRepository, never()).findByIdAndUserId(any(), any());
     }
 
     @Test
     void updateTransaction_CategoryNotFound() {
         // Arrange
-        when(transactionRepository.findById(1L)).thenReturn(Optional.of(testTransaction));
         when(categoryRepository.findByNameAndUserId("NonExistent", 1L)).thenReturn(Optional.empty());
+        when(categoryRepository.findByNameAndUserIsNull("NonExistent")).thenReturn(Optional.empty());
 
         TransactionRequest updateRequest = new TransactionRequest();
         updateRequest.setCategory("NonExistent");
@@ -281,53 +296,47 @@ class TransactionServiceTest {
                 () -> transactionService.updateTransaction(1L, updateRequest));
 
         assertEquals("Category not found with name: NonExistent", exception.getMessage());
-        verify(transactionRepository).findById(1L);
         verify(categoryRepository).findByNameAndUserId("NonExistent", 1L);
-        verify(transactionRepository, never()).save(any());
+        verify(transactionRepository, never()).updateOwnedWithCategory(any(), any(), any(), any(), any(), any(), any(), anyLong());
     }
 
     @Test
     void deleteTransaction_Success() {
         // Arrange
-        when(transactionRepository.findById(1L)).thenReturn(Optional.of(testTransaction));
+        when(transactionRepository.deleteByIdAndUserId(1L, 1L)).thenReturn(1);
 
         // Act
         assertDoesNotThrow(() -> transactionService.deleteTransaction(1L));
 
         // Assert
-        verify(transactionRepository).findById(1L);
-        verify(transactionRepository).delete(testTransaction);
+        verify(transactionRepository).deleteByIdAndUserId(1L, 1L);
+        verify(transactionRepository, never()).existsById(any());
     }
 
     @Test
     void deleteTransaction_NotFound() {
         // Arrange
-        when(transactionRepository.findById(1L)).thenReturn(Optional.empty());
+        when(transactionRepository.deleteByIdAndUserId(1L, 1L)).thenReturn(0);
 
         // Act & Assert
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
                 () -> transactionService.deleteTransaction(1L));
 
         assertEquals("Transaction not found with id: 1", exception.getMessage());
-        verify(transactionRepository).findById(1L);
-        verify(transactionRepository, never()).delete(any());
+        verify(transactionRepository).deleteByIdAndUserId(1L, 1L);
     }
 
     @Test
     void deleteTransaction_Forbidden() {
         // Arrange
-        User otherUser = new User("other@example.com", "password", "Other User", "+1234567890");
-        otherUser.setId(2L);
-        testTransaction.setUser(otherUser);
-
-        when(transactionRepository.findById(1L)).thenReturn(Optional.of(testTransaction));
+        when(transactionRepository.deleteByIdAndUserId(1L, 1L)).thenReturn(0);
+        when(transactionRepository.existsById(1L)).thenReturn(true);
 
         // Act & Assert
         ForbiddenException exception = assertThrows(ForbiddenException.class,
                 () -> transactionService.deleteTransaction(1L));
 
         assertEquals("You are not authorized to delete this transaction.", exception.getMessage());
-        verify(transactionRepository).findById(1L);
-        verify(transactionRepository, never()).delete(any());
+        verify(transactionRepository).deleteByIdAndUserId(1L, 1L);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,150 @@
+package com.example.financemanagement.service;
+
+import com.example.financemanagement.entity.Category;
+import com.example.financemanagement.entity.CategoryType;
+import com.example.financemanagement.entity.User;
+import com.example.financemanagement.repository.CategoryRepository;
+import com.example.financemanagement.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TransactionTagTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User("tags-" + UUID.randomUUID() + "@example.com",
+                "secret", "Tag User", ""));
+        categoryRepository.save(new Category("Travel", CategoryType.EXPENSE, true, owner));
+    }
+
+    @Test
+    void evaluatesAndOrNot() throws Exception {
+        long hotel = create("2024-03-01", List.of("Vacation-2024", "reimbursable"));
+        long flight = create("2024-03-02", List.of("vacation-2024"));
+        long taxi = create("2024-03-03", List.of("reimbursable", "work"));
+        long bus = create("2024-03-04", List.of());
+
+        assertEquals(List.of(flight, hotel), filter("vacation-2024"));
+        assertEquals(List.of(hotel), filter("VACATION-2024 and reimbursable"));
+        assertEquals(List.of(taxi, flight, hotel), filter("vacation-2024 OR reimbursable"));
+        assertEquals(List.of(bus, flight), filter("NOT reimbursable"));
+        assertEquals(List.of(taxi, flight), filter("(vacation-2024 OR work) AND NOT (vacation-2024 AND reimbursable)"));
+        assertEquals(List.of(), filter("unknown"));
+    }
+
+    @Test
+    void followsTagChangesAndDeletes() throws Exception {
+        long id = create("2024-03-01", List.of("personal"));
+        assertEquals(List.of(id), filter("personal"));
+
+        perform(patch("/api/transactions/{id}", id)
+                .contentType("application/merge-patch+json")
+                .content("{\"tags\": [\"work\", \"reimbursable\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tags[0]").value("reimbursable"));
+        assertEquals(List.of(), filter("personal"));
+        assertEquals(List.of(id), filter("work AND reimbursable"));
+
+        perform(put("/api/transactions/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"amount\": 20.00, \"tags\": [\"personal\"]}"))
+                .andExpect(status().isOk());
+        assertEquals(List.of(id), filter("personal AND NOT work"));
+
+        perform(delete("/api/transactions/{id}", id)).andExpect(status().isOk());
+        assertEquals(List.of(), filter("personal"));
+    }
+
+    @Test
+    void combinesWithOtherFilters() throws Exception {
+        create("2024-01-10", List.of("vacation-2024"));
+        long march = create("2024-03-10", List.of("vacation-2024"));
+
+        String body = perform(get("/api/transactions")
+                .param("tags", "vacation-2024")
+                .param("startDate", "2024-02-01"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode transactions = objectMapper.readTree(body).get("transactions");
+        assertEquals(1, transactions.size());
+        assertEquals(march, transactions.get(0).get("id").asLong());
+    }
+
+    @Test
+    void malformedTagsAreRejected() throws Exception {
+        perform(post("/api/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"amount\": 5.00, \"date\": \"2024-03-01\", \"category\": \"Travel\", \"tags\": [\"no spaces\"]}"))
+                .andExpect(status().isBadRequest());
+        for (String expression : new String[]{"a AND", "(a OR b", "a b", "NOT", "a | b"}) {
+            perform(get("/api/transactions").param("tags", expression))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    private long create(String date, List<String> tags) throws Exception {
+        String body = perform(post("/api/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of(
+                        "amount", 12.00, "date", date, "category", "Travel", "tags", tags))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private List<Long> filter(String tags) throws Exception {
+        String body = perform(get("/api/transactions").param("tags", tags))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode transaction : objectMapper.readTree(body).get("transactions")) {
+            ids.add(transaction.get("id").asLong());
+        }
+        return ids;
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request.with(user(owner.getUsername())).with(csrf()));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.financemanagement.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserDetailsCacheTest {
+
+    private final long[] now = {0L};
+
+    private UserDetails user(String username) {
+        return User.withUsername(username).password("{bcrypt}hash").authorities(new String[0]).build();
+    }
+
+    @Test
+    void getUserFromCache_ReturnsCopyThatSurvivesCredentialErasure() {
+        UserDetailsCache cache = new UserDetailsCache(10, Duration.ofMinutes(5), () -> now[0]);
+        cache.putUserInCache(user("user@example.com"));
+
+        UserDetails first = cache.getUserFromCache("user@example.com");
+        ((User) first).eraseCredentials();
+
+        assertEquals("{bcrypt}hash", cache.getUserFromCache("user@example.com").getPassword());
+    }
+
+    @Test
+    void getUserFromCache_ExpiredEntry_ReturnsNull() {
+        UserDetailsCache cache = new UserDetailsCache(10, Duration.ofNanos(100), () -> now[0]);
+        cache.putUserInCache(user("user@example.com"));
+
+        now[0] = 101L;
+
+        assertNull(cache.getUserFromCache("user@example.com"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void putUserInCache_RespectsMaxEntries() {
+        UserDetailsCache cache = new UserDetailsCache(2, Duration.ofMinutes(5), () -> now[0]);
+        cache.putUserInCache(user("a@example.com"));
+        cache.putUserInCache(user("b@example.com"));
+        cache.putUserInCache(user("c@example.com"));
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.getUserFromCache("c@example.com"));
+    }
+
+    @Test
+    void removeUserFromCache_EvictsEntry() {
+        UserDetailsCache cache = new UserDetailsCache(10, Duration.ofMinutes(5), () -> now[0]);
+        cache.putUserInCache(user("user@example.com"));
+
+        cache.removeUserFromCache("user@example.com");
+
+        assertNull(cache.getUserFromCache("user@example.com"));
+    }
+}
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
@@ -22,6 +23,9 @@ class UserDetailsServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserCache userCache;
+
     @InjectMocks
     private UserDetailsServiceImpl userDetailsService;
 
@@ -42,6 +46,30 @@ class UserDetailsServiceImplTest {
         assertEquals(user.getUsername(), userDetails.getUsername());
         assertEquals(user.getPassword(), userDetails.getPassword());
         verify(userRepository).findByUsername("user@example.com");
+        verify(userCache).putUserInCache(userDetails);
+    }
+
+    @Test
+    void loadUserByUsername_shouldGrantAdminRole_onlyFromUserRow() {
+        when(userRepository.findByUsername("user@example.com")).thenReturn(Optional.of(user));
+        assertTrue(userDetailsService.loadUserByUsername("user@example.com").getAuthorities().isEmpty());
+
+        user.setAdmin(true);
+        UserDetails admin = userDetailsService.loadUserByUsername("user@example.com");
+
+        assertEquals("ROLE_ADMIN", admin.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void loadUserByUsername_shouldSkipRepository_whenUserIsCached() {
+        UserDetails cached = org.springframework.security.core.userdetails.User
+                .withUsername("user@example.com").password("password").authorities(new String[0]).build();
+        when(userCache.getUserFromCache("user@example.com")).thenReturn(cached);
+
+        UserDetails userDetails = userDetailsService.loadUserByUsername("user@example.com");
+
+        assertSame(cached, userDetails);
+        verifyNoInteractions(userRepository);
     }
 
     @Test
@@ -0,0 +1,139 @@
+package com.example.financemanagement.service;
+
+import com.example.financemanagement.dto.BulkUserRegistrationResponse;
+import com.example.financemanagement.dto.UserRegistrationRequest;
+import com.example.financemanagement.exception.BadRequestException;
+import com.example.financemanagement.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserProvisioningServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private UsernameAvailabilityService usernameAvailabilityService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UserProvisioningService userProvisioningService;
+
+    @BeforeEach
+    void setUp() {
+        userProvisioningService = new UserProvisioningService(userRepository, passwordEncoder, jdbcTemplate,
+                transactionManager, usernameAvailabilityService, 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userProvisioningService.shutdown();
+    }
+
+    private UserRegistrationRequest request(String username) {
+        return new UserRegistrationRequest(username, "password123", "User " + username, "1234567890");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void registerUsers_SkipsExistingAndDuplicates_InsertsInBatches() {
+        List<UserRegistrationRequest> requests = List.of(
+                request("a@example.com"), request("b@example.com"), request("a@example.com"),
+                request("taken@example.com"), request("c@example.com"));
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(List.of("taken@example.com"));
+        when(passwordEncoder.encode("password123")).thenReturn("hash");
+
+        BulkUserRegistrationResponse response = userProvisioningService.registerUsers(requests,
+                Set.of("c@example.com", "taken@example.com"));
+
+        assertEquals(3, response.getCreated());
+        assertEquals(List.of("a@example.com", "taken@example.com"), response.getSkippedUsernames());
+        verify(userRepository, times(1)).findExistingUsernames(anyCollection());
+        verify(userRepository, never()).existsByUsername(anyString());
+
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(eq(UserProvisioningService.INSERT_USER_SQL), batches.capture());
+        List<Object[]> rows = new ArrayList<>();
+        batches.getAllValues().forEach(rows::addAll);
+        assertEquals(3, rows.size());
+        assertEquals("a@example.com", rows.get(0)[0]);
+        assertEquals("hash", rows.get(0)[1]);
+        assertEquals(false, rows.get(0)[4]);
+        assertEquals("c@example.com", rows.get(2)[0]);
+        assertEquals(true, rows.get(2)[4]);
+        verify(usernameAvailabilityService).recordUsername("c@example.com");
+    }
+
+    @Test
+    void registerUsers_HashesBeforeOpeningTheTransaction() {
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(List.of());
+        when(passwordEncoder.encode("password123")).thenReturn("hash");
+
+        userProvisioningService.registerUsers(List.of(request("a@example.com")));
+
+        InOrder inOrder = inOrder(userRepository, passwordEncoder, transactionManager, jdbcTemplate);
+        inOrder.verify(userRepository).findExistingUsernames(anyCollection());
+        inOrder.verify(passwordEncoder).encode("password123");
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(jdbcTemplate).batchUpdate(eq(UserProvisioningService.INSERT_USER_SQL), anyList());
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void registerUsers_SkipsUsernameRegisteredDuringTheBatch() {
+        when(userRepository.findExistingUsernames(anyCollection()))
+                .thenReturn(List.of())
+                .thenReturn(List.of("b@example.com"));
+        when(passwordEncoder.encode("password123")).thenReturn("hash");
+        when(jdbcTemplate.batchUpdate(eq(UserProvisioningService.INSERT_USER_SQL), anyList()))
+                .thenThrow(new DuplicateKeyException("uk_users_username"))
+                .thenReturn(new int[]{1, 1});
+
+        BulkUserRegistrationResponse response = userProvisioningService.registerUsers(List.of(
+                request("a@example.com"), request("b@example.com"), request("c@example.com")));
+
+        assertEquals(2, response.getCreated());
+        assertEquals(List.of("b@example.com"), response.getSkippedUsernames());
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(eq(UserProvisioningService.INSERT_USER_SQL), batches.capture());
+        List<Object[]> retried = batches.getAllValues().get(1);
+        assertEquals(List.of("a@example.com", "c@example.com"), retried.stream().map(row -> row[0]).toList());
+        verify(transactionManager).rollback(any());
+        verify(usernameAvailabilityService, never()).recordUsername("b@example.com");
+    }
+
+    @Test
+    void registerUsers_MissingFullName_BadRequest() {
+        UserRegistrationRequest invalid = new UserRegistrationRequest("a@example.com", "password123", " ", "1");
+
+        assertThrows(BadRequestException.class, () -> userProvisioningService.registerUsers(List.of(invalid)));
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -29,6 +29,9 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private UsernameAvailabilityService usernameAvailabilityService;
+
     @InjectMocks
     private UserService userService;
 
@@ -60,6 +63,20 @@ class UserServiceTest {
         assertEquals(1L, result.getId());
         assertEquals(registrationRequest.getUsername(), result.getUsername());
         assertEquals("encodedPassword", result.getPassword());
+        verify(usernameAvailabilityService).recordUsername(registrationRequest.getUsername());
+    }
+
+    @Test
+    void registerUser_DoesNotCopyDefaultCategories() {
+        when(userRepository.existsByUsername(registrationRequest.getUsername())).thenReturn(false);
+        when(passwordEncoder.encode(registrationRequest.getPassword())).thenReturn("encodedPassword");
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        userService.registerUser(registrationRequest);
+
+        // Default categories are shared templates, so registration is a single user INSERT
+        verify(userRepository, times(1)).save(any(User.class));
+        verifyNoInteractions(categoryRepository);
     }
 
     @Test
@@ -0,0 +1,83 @@
+package com.example.financemanagement.service;
+
+import com.example.financemanagement.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UsernameAvailabilityServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UsernameAvailabilityService usernameAvailabilityService;
+
+    @BeforeEach
+    void setUp() {
+        usernameAvailabilityService = new UsernameAvailabilityService(userRepository, 1000, 0.01);
+    }
+
+    @Test
+    void isAvailable_UnknownUsernameAfterWarmUp_SkipsDatabase() {
+        when(userRepository.streamAllUsernames()).thenReturn(Stream.of("taken@example.com"));
+        usernameAvailabilityService.run(null);
+
+        assertTrue(usernameAvailabilityService.isAvailable("free@example.com"));
+        verify(userRepository, never()).existsByUsername(anyString());
+    }
+
+    @Test
+    void isAvailable_PossibleHit_ConsultsDatabase() {
+        when(userRepository.streamAllUsernames()).thenReturn(Stream.of("taken@example.com"));
+        when(userRepository.existsByUsername("taken@example.com")).thenReturn(true);
+        usernameAvailabilityService.run(null);
+
+        assertFalse(usernameAvailabilityService.isAvailable("taken@example.com"));
+    }
+
+    @Test
+    void isAvailable_BeforeWarmUp_ConsultsDatabase() {
+        when(userRepository.existsByUsername("free@example.com")).thenReturn(false);
+
+        assertTrue(usernameAvailabilityService.isAvailable("free@example.com"));
+        verify(userRepository).existsByUsername("free@example.com");
+    }
+
+    @Test
+    void recordUsername_MakesUsernamePossibleHit() {
+        when(userRepository.streamAllUsernames()).thenReturn(Stream.empty());
+        when(userRepository.existsByUsername("new@example.com")).thenReturn(true);
+        usernameAvailabilityService.run(null);
+
+        usernameAvailabilityService.recordUsername("new@example.com");
+
+        assertFalse(usernameAvailabilityService.isAvailable("new@example.com"));
+    }
+
+    @Test
+    void bloomFilter_NoFalseNegatives() {
+        UsernameBloomFilter filter = new UsernameBloomFilter(10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(filter.mightContain("user" + i + "@example.com"));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain("other" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positive rate too high: " + falsePositives);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.financemanagement.service;
+
+import com.example.financemanagement.repository.SavingsGoalRepository;
+import com.example.financemanagement.repository.TransactionRepository;
+import com.example.financemanagement.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"app.warmup.enabled=true", "app.warmup.iterations=3"})
+class WarmupRunnerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WarmupRunner warmupRunner;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private SavingsGoalRepository savingsGoalRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void warmUpReplaysEveryRoundAndLeavesNoData() {
+        long users = userRepository.count();
+        long transactions = transactionRepository.count();
+        long goals = savingsGoalRepository.count();
+
+        assertEquals(3, warmupRunner.warmUp(port));
+
+        assertEquals(users, userRepository.count());
+        assertEquals(transactions, transactionRepository.count());
+        assertEquals(goals, savingsGoalRepository.count());
+    }
+
+    @Test
+    void warmUpStopsWhenTheTimeBudgetIsSpent() {
+        long users = userRepository.count();
+        WarmupRunner exhausted = new WarmupRunner(applicationContext, entityManager, transactionManager,
+                true, 1000, Duration.ZERO);
+
+        assertEquals(0, exhausted.warmUp(port));
+        assertEquals(users, userRepository.count());
+    }
+
+    @Test
+    void warmUpTrafficIsNotRecorded() {
+        List<Double> before = recorded();
+
+        assertEquals(3, warmupRunner.warmUp(port));
+
+        assertEquals(before, recorded());
+    }
+
+    private List<Double> recorded() {
+        return List.of(
+                meterRegistry.find("http.server.requests").timers().stream().mapToDouble(Timer::count).sum(),
+                meterRegistry.find("http.server.requests.sql.statements").summaries().stream()
+                        .mapToDouble(summary -> summary.count()).sum(),
+                meterRegistry.find("service.operation").timers().stream().mapToDouble(Timer::count).sum(),
+                meterRegistry.find("report.transactions.scanned").counters().stream()
+                        .mapToDouble(Counter::count).sum(),
+                meterRegistry.find("savings.goals.evaluated").counters().stream()
+                        .mapToDouble(Counter::count).sum());
+    }
+}